@@ -0,0 +1,47 @@
+package puzzles.benchmarks;
+
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamCorpus;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * BenchmarkData class
+ * Locates the puzzles the benchmarks load. Puzzles are text files in a directory that
+ * defaults to the data directory of the repository, seen from the benchmarks directory, and
+ * can be changed with -Dpuzzles.data=path. With -Dpuzzles.corpus=file, puzzles are instead
+ * looked up by name in a binary corpus made by JamCorpusConverter.
+ */
+final class BenchmarkData {
+    private static final String DIRECTORY = System.getProperty("puzzles.data", "../data/jam");
+    private static final String CORPUS = System.getProperty("puzzles.corpus");
+
+    private BenchmarkData() {
+    }
+
+    /** Get the path of a puzzle file
+     * @param name the name of the puzzle, such as jam-3
+     * @return the path of the puzzle file
+     */
+    static String file(String name) {
+        return DIRECTORY + "/" + name + ".txt";
+    }
+
+    /** Load a puzzle from the corpus if one was given, or else from its text file
+     * @param name the name of the puzzle, such as jam-3
+     * @return the start config of the puzzle
+     * @throws IOException if the puzzle can not be read
+     */
+    static JamConfig load(String name) throws IOException {
+        if (CORPUS == null) {
+            return new JamConfig(file(name));
+        }
+        JamCorpus corpus = JamCorpus.open(Path.of(CORPUS));
+        int index = corpus.indexOf(name);
+        if (index == -1) {
+            throw new FileNotFoundException(name + " is not in " + CORPUS);
+        }
+        return corpus.get(index);
+    }
+}
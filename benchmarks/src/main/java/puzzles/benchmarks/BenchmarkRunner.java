@@ -0,0 +1,31 @@
+package puzzles.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Driver class for the benchmarks
+ * Run the JMH benchmarks with the usual JMH command line options, always adding the gc
+ * profiler so every result reports its allocation rate next to its throughput
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions commandLine;
+        try{
+            commandLine = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e){
+            System.out.println("Invalid options: " + e.getMessage());
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package puzzles.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import puzzles.common.solver.Configuration;
+import puzzles.jam.model.Car;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamCorpus;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JamConfigBenchmark class
+ * Measures the JamConfig operations a search repeats for every state: generating
+ * neighbors, checking cars against the board, hashing and comparing configs, along
+ * with reading a puzzle from a text file and from a binary corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JamConfigBenchmark {
+    @Param({"jam-3", "jam-8", "jam-10"})
+    public String puzzle;
+
+    private String filename;
+    private JamConfig config;
+    private JamConfig copy;
+    private Car[] cars;
+    private JamCorpus corpus;
+
+    @Setup
+    public void load() throws IOException {
+        filename = BenchmarkData.file(puzzle);
+        config = BenchmarkData.load(puzzle);
+        copy = new JamConfig(config);
+        cars = config.getCars();
+        // a corpus of just this puzzle, to compare decoding it with parsing its text file
+        Path corpusFile = Files.createTempFile("benchmark", ".jamc");
+        corpusFile.toFile().deleteOnExit();
+        try (JamCorpus.Writer writer = new JamCorpus.Writer(corpusFile)) {
+            writer.add(puzzle, config);
+        }
+        corpus = JamCorpus.open(corpusFile);
+    }
+
+    @Benchmark
+    public Configuration[] getNeighbors() {
+        return config.getNeighbors();
+    }
+
+    @Benchmark
+    public void forEachNeighbor(Blackhole blackhole) {
+        config.forEachNeighbor((move, neighbor) -> blackhole.consume(neighbor.hashCode()));
+    }
+
+    @Benchmark
+    public void isConflict(Blackhole blackhole) {
+        for (Car car : cars) {
+            blackhole.consume(config.isConflict(car));
+        }
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return config.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsCopy() {
+        return config.equals(copy);
+    }
+
+    @Benchmark
+    public JamConfig parse() throws FileNotFoundException {
+        return new JamConfig(filename);
+    }
+
+    @Benchmark
+    public JamConfig decodeCorpus() {
+        return corpus.get(0);
+    }
+}
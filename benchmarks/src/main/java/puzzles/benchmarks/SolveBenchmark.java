@@ -0,0 +1,69 @@
+package puzzles.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.SolverStrategy;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SolveBenchmark class
+ * Solves every puzzle in the data directory from start to finish with every SolverStrategy,
+ * including PACKED, the default of the command line tools. -p strategy=PACKED limits a run to one.
+ * Next to the solves per second, the states counter reports the configs expanded per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+    @Param({"jam-0", "jam-1", "jam-2", "jam-3", "jam-4", "jam-5", "jam-6", "jam-7", "jam-8", "jam-9", "jam-10", "jam-11"})
+    public String puzzle;
+
+    @Param // every strategy
+    public SolverStrategy strategy;
+
+    private JamConfig start;
+
+    /**
+     * States class
+     * Counts the configs expanded during an iteration, reported as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class States {
+        public long states;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            states = 0;
+        }
+    }
+
+    @Setup
+    public void load() throws IOException {
+        start = BenchmarkData.load(puzzle);
+    }
+
+    @Benchmark
+    public SolveResult solve(States states) {
+        SolveResult result = strategy.search(start);
+        states.states += result.getStats().getExpanded();
+        return result;
+    }
+}
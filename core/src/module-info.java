@@ -0,0 +1,7 @@
+module BFSPuzzleSolverCore {
+    exports puzzles.common;
+    exports puzzles.common.solver;
+    exports puzzles.jam.model;
+    exports puzzles.jam.ptui;
+    exports puzzles.jam.solver;
+}
@@ -0,0 +1,103 @@
+package puzzles.common.solver;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+
+/**
+ * A* Solver class
+ * Expands configurations in order of moves so far plus a Heuristic estimate of the moves
+ * left, Configuration.estimateDistance unless another is given. The estimate never
+ * overshoots, so the first solution taken from the queue is reached by a shortest path.
+ */
+
+public class AStar implements Solver {
+
+    /**
+     * A configuration waiting in the open queue
+     */
+    private static class Node implements Comparable<Node> {
+        private final Configuration config;
+        private final int cost, estimate;
+
+        private Node(Configuration config, int cost, int estimate) {
+            this.config = config;
+            this.cost = cost;
+            this.estimate = estimate;
+        }
+
+        /** Order by total estimated length, preferring configurations closer to a solution
+         * @param other the node to compare to
+         * @return the order of the nodes
+         */
+        @Override
+        public int compareTo(Node other) {
+            int byTotal = Integer.compare(cost + estimate, other.cost + other.estimate);
+            return byTotal != 0 ? byTotal : Integer.compare(estimate, other.estimate);
+        }
+    }
+
+    private final Heuristic heuristic;
+
+    /**
+     * Create an A* solver using each configuration's own estimate
+     */
+    public AStar(){
+        this(Configuration::estimateDistance);
+    }
+
+    /** Create an A* solver using a heuristic
+     * @param heuristic estimates the moves left from a configuration
+     */
+    public AStar(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public SolveResult search(Configuration start, SolveOptions options){
+        // BFS only accepts a solution reached by a move, so let it handle a solved start
+        if(start.isSolution()){
+            return BFS.search(start, options);
+        }
+        SolveStats stats = new SolveStats();
+        HashMap<Configuration, Configuration> predecessors = new HashMap<>();
+        HashMap<Configuration, Integer> costs = new HashMap<>();
+        PriorityQueue<Node> open = new PriorityQueue<>();
+        predecessors.put(start, null);
+        costs.put(start, 0);
+        open.add(new Node(start, 0, heuristic.estimate(start)));
+        stats.discovered(0);
+        stats.frontier(open.size());
+        while(!open.isEmpty()){
+            Node node = open.remove();
+            // skip entries left behind when a shorter path to the configuration was found
+            if(node.cost > costs.get(node.config)){
+                continue;
+            }
+            if(node.config.isSolution()){
+                stats.finish();
+                return new SolveResult(BFS.constructPath(predecessors, start, node.config), stats);
+            }
+            if(options.isExhausted(stats)){
+                return SolveResult.exhausted(stats);
+            }
+            stats.expanded();
+            int cost = node.cost + 1;
+            node.config.forEachNeighbor((move, config) -> {
+                stats.generated();
+                Integer known = costs.get(config);
+                if(known == null || cost < known){
+                    if(known == null)
+                        stats.discovered(cost);
+                    Configuration kept = config.detach();
+                    costs.put(kept, cost);
+                    predecessors.put(kept, node.config);
+                    open.add(new Node(kept, cost, heuristic.estimate(kept)));
+                }
+            });
+            stats.frontier(open.size());
+        }
+        stats.finish();
+        return new SolveResult(new LinkedList<>(), stats);
+    }
+}
@@ -0,0 +1,112 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * BFS Solver class
+ * @author Daniel Tregea
+ */
+
+public class BFS {
+
+    public static List<Configuration> solve(Configuration start){
+        return search(start).getPath();
+    }
+
+    /** Solve on an executor. Each solve keeps its own search state, so many puzzles
+     * can be solved at the same time on one pool.
+     * @param start the configuration to solve
+     * @param executor the executor to run the solve on
+     * @return a future completed with the path, empty if there is no solution
+     */
+    public static CompletableFuture<List<Configuration>> solveAsync(Configuration start, Executor executor){
+        return CompletableFuture.supplyAsync(() -> solve(start), executor);
+    }
+
+    /** Search on an executor. Each search keeps its own search state, so many puzzles
+     * can be searched at the same time on one pool.
+     * @param start the configuration to solve
+     * @param executor the executor to run the search on
+     * @return a future completed with the result of the search
+     */
+    public static CompletableFuture<SolveResult> searchAsync(Configuration start, Executor executor){
+        return CompletableFuture.supplyAsync(() -> search(start), executor);
+    }
+
+    public static SolveResult search(Configuration start){
+        return search(start, SolveOptions.UNLIMITED);
+    }
+
+    /** Search within limits
+     * @param start the configuration to solve
+     * @param options the limits of the search, checked before each expansion
+     * @return the result of the search, BUDGET_EXHAUSTED if a limit was reached
+     */
+    public static SolveResult search(Configuration start, SolveOptions options){
+        SolveStats stats = new SolveStats();
+        HashMap<Configuration, Configuration> predecessors = new HashMap<>();
+        List<Configuration> queue = new LinkedList<>();
+        predecessors.put(start, null);
+        queue.add(start);
+        stats.discovered(0);
+        stats.frontier(queue.size());
+        Configuration[] found = new Configuration[1];
+        // expand one depth level at a time so every state's depth is known
+        for(int depth = 1; !queue.isEmpty(); depth++){
+            int neighborDepth = depth;
+            for(int levelSize = queue.size(); levelSize > 0; levelSize--){
+                if(options.isExhausted(stats)){
+                    return SolveResult.exhausted(stats);
+                }
+                Configuration current = queue.remove(0);
+                stats.expanded();
+                // neighbors are only copied once they are known to be new
+                current.forEachNeighbor((move, config) -> {
+                    if(found[0] != null){
+                        return;
+                    }
+                    stats.generated();
+                    if(config.isSolution()){
+                        if(!predecessors.containsKey(config))
+                            stats.discovered(neighborDepth);
+                        found[0] = config.detach();
+                        predecessors.put(found[0], current);
+                    } else if(!predecessors.containsKey(config)){
+                        Configuration kept = config.detach();
+                        predecessors.put(kept, current);
+                        queue.add(kept);
+                        stats.discovered(neighborDepth);
+                    }
+                });
+                if(found[0] != null){
+                    stats.finish();
+                    return new SolveResult(constructPath(predecessors, start, found[0]), stats);
+                }
+                stats.frontier(queue.size());
+            }
+        }
+        stats.finish();
+        return new SolveResult(constructPath(predecessors, start, null), stats);
+    }
+
+    public static List<Configuration> constructPath(HashMap<Configuration,Configuration> predecessors, Configuration start, Configuration end){
+        List<Configuration> path = new ArrayList<>();
+        if(predecessors.containsKey(end)){
+            // walk back from the end, then put the steps in order
+            Configuration currNode = end;
+            while(currNode != start){
+                path.add(currNode);
+                currNode = predecessors.get(currNode);
+            }
+            path.add(start);
+            Collections.reverse(path);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,25 @@
+package puzzles.common.solver;
+
+/**
+ * CancellationToken class
+ * Lets a caller stop a solve from another thread. The solve notices the next time it
+ * checks its SolveOptions and returns a budget exhausted result.
+ */
+
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Ask every solve using this token to stop
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** Determine if the token has been cancelled
+     * @return whether cancel has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,72 @@
+package puzzles.common.solver;
+
+/**
+ * Configuration interface
+ * An object must implement these methods to be solved by a pathfinding algorithm
+ * @author Daniel Tregea
+ */
+
+public interface Configuration {
+
+    /** Determine if the Configuration is a solution
+     * @return if the Configuration is the solution
+     */
+    boolean isSolution();
+
+    /** Get the neighbors, "adjacent nodes", of the Configuration
+     * @return The neighbors of the Configuration
+     */
+    Configuration[] getNeighbors();
+
+    /** Pass each neighbor to a sink without building a new object per neighbor.
+     * Solvers call detach() on the neighbors they keep.
+     * @param sink receives each neighbor and the move that reaches it
+     */
+    default void forEachNeighbor(NeighborSink sink) {
+        Configuration[] neighbors = getNeighbors();
+        for (int i = 0; i < neighbors.length; i++) {
+            sink.accept(i, neighbors[i]);
+        }
+    }
+
+    /** Get the neighbor a move reaches, so a solution can be kept as its moves
+     * @param move a move as passed by forEachNeighbor
+     * @return the neighbor, or null if the move can not be made from this Configuration
+     */
+    default Configuration applyMove(int move) {
+        Configuration[] found = new Configuration[1];
+        forEachNeighbor((neighborMove, neighbor) -> {
+            if (neighborMove == move && found[0] == null)
+                found[0] = neighbor.detach();
+        });
+        return found[0];
+    }
+
+    /** Get the move that reaches a neighbor
+     * @param next a neighbor of this Configuration
+     * @return the move as passed by forEachNeighbor, or -1 if next is not a neighbor
+     */
+    default int moveTo(Configuration next) {
+        int[] found = {-1};
+        forEachNeighbor((move, neighbor) -> {
+            if (found[0] == -1 && neighbor.equals(next))
+                found[0] = move;
+        });
+        return found[0];
+    }
+
+    /** Get a Configuration equal to this one that can be kept after a NeighborSink returns
+     * @return this, or a copy if this object is reused by forEachNeighbor
+     */
+    default Configuration detach() {
+        return this;
+    }
+
+    /** Estimate the number of moves to the nearest solution for informed solvers such as AStar.
+     * The estimate must never be more than the real number of moves.
+     * @return a lower bound on the moves to a solution, 0 if nothing better is known
+     */
+    default int estimateDistance() {
+        return 0;
+    }
+}
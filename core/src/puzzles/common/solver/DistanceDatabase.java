@@ -0,0 +1,190 @@
+package puzzles.common.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * DistanceDatabase class
+ * A precomputed table of the number of moves from every reachable state of a puzzle to its
+ * nearest solution. The table is an open addressing hash table of packed states written to
+ * a file, and is read through a memory map so looking up a state needs no search.
+ */
+
+public class DistanceDatabase {
+    private static final int MAGIC = 0x4A444442; // "JDDB"
+    private static final int VERSION = 1;
+    // magic, version, fingerprint, capacity, count, zero key flag and distance
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 1 + 1;
+    private static final int UNREACHABLE = 0xFF;
+    private final ByteBuffer table;
+    private final int capacity;
+    private final int zeroDistance;
+
+    /** Wrap a mapped database file
+     * @param table the mapped contents of the file
+     */
+    private DistanceDatabase(ByteBuffer table) {
+        this.table = table;
+        capacity = table.getInt(16);
+        zeroDistance = table.get(24) != 0 ? table.get(25) & 0xFF : UNREACHABLE;
+    }
+
+    /** Enumerate every state reachable from the start, compute its distance to the nearest
+     * solution and write the table to a file
+     * @param start the configuration whose reachable states are stored
+     * @param fingerprint identifies the puzzle, checked again when the file is opened
+     * @param file the file to write
+     * @param <C> a puzzle whose states can be packed and whose moves can be undone
+     * @return the number of states written
+     * @throws IOException if the file can not be written
+     */
+    public static <C extends PackedConfiguration & ReversibleConfiguration> int build(C start, long fingerprint, Path file) throws IOException {
+        // find every reachable state and give it an index
+        LongHashMap indexes = new LongHashMap();
+        LongQueue queue = new LongQueue();
+        long[][] states = {new long[1024]};
+        int[] count = {0};
+        long startState = start.pack();
+        indexes.putIfAbsent(startState, 0);
+        states[0][count[0]++] = startState;
+        queue.add(startState);
+        while(!queue.isEmpty()){
+            start.forEachNeighbor(queue.remove(), neighbor -> {
+                if(indexes.putIfAbsent(neighbor, count[0])){
+                    if(count[0] == states[0].length){
+                        states[0] = Arrays.copyOf(states[0], count[0] * 2);
+                    }
+                    states[0][count[0]++] = neighbor;
+                    queue.add(neighbor);
+                }
+            });
+        }
+        // search backward from every reachable solution at once; moves can be undone,
+        // so a state's neighbors are also the states one move further from a solution
+        byte[] distances = new byte[count[0]];
+        Arrays.fill(distances, (byte) UNREACHABLE);
+        for(int i = 0; i < count[0]; i++){
+            if(start.isSolution(states[0][i])){
+                distances[i] = 0;
+                queue.add(states[0][i]);
+            }
+        }
+        while(!queue.isEmpty()){
+            long current = queue.remove();
+            int next = (distances[(int) indexes.get(current, -1)] & 0xFF) + 1;
+            start.forEachNeighbor(current, neighbor -> {
+                int index = (int) indexes.get(neighbor, -1);
+                if((distances[index] & 0xFF) == UNREACHABLE && next < UNREACHABLE){
+                    distances[index] = (byte) next;
+                    queue.add(neighbor);
+                }
+            });
+        }
+        write(file, fingerprint, states[0], distances, count[0]);
+        return count[0];
+    }
+
+    /** Write the states and their distances as a hash table
+     * @param file the file to write
+     * @param fingerprint identifies the puzzle
+     * @param states the packed states
+     * @param distances the distance of each state
+     * @param count the number of states
+     * @throws IOException if the file can not be written
+     */
+    private static void write(Path file, long fingerprint, long[] states, byte[] distances, int count) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(count, 32)) * 4; // at most half full
+        long size = HEADER_SIZE + (long) capacity * Long.BYTES + capacity;
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(0, MAGIC);
+            out.putInt(4, VERSION);
+            out.putLong(8, fingerprint);
+            out.putInt(16, capacity);
+            out.putInt(20, count);
+            int mask = capacity - 1;
+            for(int i = 0; i < count; i++){
+                if(states[i] == 0){
+                    out.put(24, (byte) 1);
+                    out.put(25, distances[i]);
+                    continue;
+                }
+                int slot = LongHashMap.mix(states[i]) & mask;
+                while(out.getLong(keyOffset(slot)) != 0){
+                    slot = (slot + 1) & mask;
+                }
+                out.putLong(keyOffset(slot), states[i]);
+                out.put(distanceOffset(capacity, slot), distances[i]);
+            }
+            out.force();
+        }
+    }
+
+    /** Map a database file
+     * @param file the file to open
+     * @param fingerprint the fingerprint of the puzzle the file must have been built for
+     * @return the database, or null if the file does not exist or was built for another puzzle
+     * @throws IOException if the file can not be read
+     */
+    public static DistanceDatabase open(Path file, long fingerprint) throws IOException {
+        if(!Files.isRegularFile(file)){
+            return null;
+        }
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            if(channel.size() < HEADER_SIZE){
+                return null;
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(table.getInt(0) != MAGIC || table.getInt(4) != VERSION || table.getLong(8) != fingerprint){
+                return null;
+            }
+            return new DistanceDatabase(table);
+        }
+    }
+
+    /** Look up the distance of a state to its nearest solution
+     * @param state a packed state
+     * @return the number of moves to the nearest solution, or -1 if the state is not in the
+     * database or can not reach a solution
+     */
+    public int distance(long state) {
+        if(state == 0){
+            return zeroDistance == UNREACHABLE ? -1 : zeroDistance;
+        }
+        int mask = capacity - 1;
+        int slot = LongHashMap.mix(state) & mask;
+        long key;
+        while((key = table.getLong(keyOffset(slot))) != 0){
+            if(key == state){
+                int distance = table.get(distanceOffset(capacity, slot)) & 0xFF;
+                return distance == UNREACHABLE ? -1 : distance;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Get the position of a key in the file
+     * @param slot the slot of the key
+     * @return the byte offset of the key
+     */
+    private static int keyOffset(int slot) {
+        return HEADER_SIZE + slot * Long.BYTES;
+    }
+
+    /** Get the position of a distance in the file
+     * @param capacity the number of slots in the table
+     * @param slot the slot of the distance
+     * @return the byte offset of the distance
+     */
+    private static int distanceOffset(int capacity, int slot) {
+        return HEADER_SIZE + capacity * Long.BYTES + slot;
+    }
+}
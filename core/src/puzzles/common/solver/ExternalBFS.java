@@ -0,0 +1,468 @@
+package puzzles.common.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * BFS Solver for PackedConfigurations whose state space does not fit in memory
+ * Each depth of the search is a file of sorted packed states in a temporary directory.
+ * Neighbors of a layer are collected in a buffer bounded by the memory budget, which is
+ * sorted and written as a run whenever it fills. The runs are then merged, and states
+ * already in an earlier layer are dropped during the merge instead of being looked up as
+ * they are generated (delayed duplicate detection). When every move can be undone, a state
+ * of the next layer can only repeat a state of the current or previous layer, so only
+ * those two are merged against. Otherwise every layer is also merged into one sorted file of
+ * all states seen so far, which is merged against instead, so a merge never has more than
+ * MAX_FAN_IN + 3 files open however deep the search goes. No predecessors are stored: the
+ * path is rebuilt by scanning the layers backward from the solution for a state one move before it.
+ * The last layer is only partly expanded when a solution is found, so the number of unique
+ * states may differ from BFS, which expands a layer in a different order.
+ * Configurations that can not be packed are solved with BFS.
+ */
+
+public class ExternalBFS implements Solver {
+    private static final int MAX_FAN_IN = 64; // runs merged at once
+    private static final int IO_BUFFER = 1 << 16; // bytes buffered per open file
+    private static final long[] EXHAUSTED = new long[0]; // returned by expand when a limit is reached
+    private final Path tempDirectory;
+    private final long memoryBudget;
+
+    /** Create an external BFS with the temporary directory and memory budget from the
+     * system properties puzzles.bfs.tempdir (default java.io.tmpdir) and
+     * puzzles.bfs.memoryMB (default a quarter of the maximum heap)
+     */
+    public ExternalBFS() {
+        this(Path.of(System.getProperty("puzzles.bfs.tempdir", System.getProperty("java.io.tmpdir"))),
+                Long.getLong("puzzles.bfs.memoryMB", Runtime.getRuntime().maxMemory() / 4 >> 20) << 20);
+    }
+
+    /** Create an external BFS
+     * @param tempDirectory the directory the layer and run files are written under
+     * @param memoryBudget the number of bytes of heap the search may use for states and file buffers
+     */
+    public ExternalBFS(Path tempDirectory, long memoryBudget) {
+        this.tempDirectory = tempDirectory;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /** Search for a shortest path, keeping the visited states on disk
+     * @param start the configuration to solve
+     * @param options the limits of the search, checked before each expansion
+     * @return the path found and the statistics of the search
+     * @throws UncheckedIOException if a layer or run file can not be written or read
+     */
+    @Override
+    public SolveResult search(Configuration start, SolveOptions options) {
+        if (!(start instanceof PackedConfiguration) || !((PackedConfiguration) start).canPack()) {
+            return BFS.search(start, options);
+        }
+        try {
+            Path directory = Files.createTempDirectory(tempDirectory, "bfs");
+            try {
+                return new Search((PackedConfiguration) start, directory, options).run();
+            } finally {
+                deleteDirectory(directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Delete a directory and the files in it
+     * @param directory the directory to delete
+     * @throws IOException if a file can not be deleted
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Search class
+     * The files and counters of a single search
+     */
+    private class Search {
+        private final PackedConfiguration start;
+        private final Path directory;
+        private final SolveOptions options;
+        private final boolean reversible;
+        private final SolveStats stats = new SolveStats();
+        private final List<Path> layers = new ArrayList<>();
+        private final long[] buffer;
+        private int buffered;
+        private final List<Path> runs = new ArrayList<>();
+        private Path seen; // every state of every layer, when moves can not be undone
+        private int fileCount;
+
+        /** Prepare a search
+         * @param start the configuration to solve
+         * @param directory the empty directory for the files of the search
+         * @param options the limits of the search
+         */
+        Search(PackedConfiguration start, Path directory, SolveOptions options) {
+            this.start = start;
+            this.directory = directory;
+            this.options = options;
+            this.reversible = start instanceof ReversibleConfiguration;
+            // what is left after the buffers of the files open during a merge holds states:
+            // the runs, at most two files merged against, and the output
+            long bufferBytes = memoryBudget - (long) (MAX_FAN_IN + 3) * IO_BUFFER;
+            buffer = new long[(int) Math.max(1024, Math.min(bufferBytes / Long.BYTES, Integer.MAX_VALUE - 8))];
+        }
+
+        /** Run the search one layer at a time
+         * @return the path found and the statistics of the search
+         * @throws IOException if a file can not be written or read
+         */
+        SolveResult run() throws IOException {
+            long startState = start.pack();
+            Path first = newFile("layer");
+            try (DataOutputStream out = writer(first)) {
+                out.writeLong(startState);
+            }
+            layers.add(first);
+            if (!reversible) {
+                seen = first;
+            }
+            stats.discovered(0);
+            stats.frontier(1);
+            long layerSize = 1;
+            while (layerSize > 0) {
+                long[] found = expand(layers.get(layers.size() - 1));
+                if (found == EXHAUSTED) {
+                    return SolveResult.exhausted(stats);
+                }
+                if (found != null) {
+                    // count the states of the partly expanded layer, the solution included
+                    Path partial = newFile("run");
+                    long partialSize = mergeRuns(partial);
+                    Files.delete(partial);
+                    if (partialSize > 0) {
+                        stats.discovered(layers.size(), (int) Math.min(partialSize, Integer.MAX_VALUE));
+                    }
+                    stats.finish();
+                    return new SolveResult(constructPath(found[0], found[1]), stats);
+                }
+                Path next = newFile("layer");
+                layerSize = mergeRuns(next);
+                layers.add(next);
+                if (!reversible) {
+                    addToSeen(next);
+                }
+                // the last layer of a search without a solution is empty and is not a depth reached
+                if (layerSize > 0) {
+                    stats.discovered(layers.size() - 1, (int) Math.min(layerSize, Integer.MAX_VALUE));
+                }
+                stats.frontier((int) Math.min(layerSize, Integer.MAX_VALUE));
+            }
+            stats.finish();
+            return new SolveResult(new LinkedList<>(), stats);
+        }
+
+        /** Generate the neighbors of every state of a layer into sorted runs
+         * @param layer the layer file to expand
+         * @return the solution and the state it was reached from, null if no neighbor is a
+         * solution, or EXHAUSTED if a limit of the search was reached. A solution is also
+         * written to the runs, so they hold every neighbor generated
+         * @throws IOException if a file can not be written or read
+         */
+        private long[] expand(Path layer) throws IOException {
+            long[] found = new long[2];
+            boolean[] solved = new boolean[1];
+            IOException[] failed = new IOException[1];
+            try (LayerReader states = new LayerReader(layer)) {
+                while (states.next() && !solved[0]) {
+                    if (options.isExhausted(stats)) {
+                        return EXHAUSTED;
+                    }
+                    long current = states.head;
+                    stats.expanded();
+                    start.forEachNeighbor(current, neighbor -> {
+                        if (solved[0] || failed[0] != null) {
+                            return;
+                        }
+                        stats.generated();
+                        if (start.isSolution(neighbor)) {
+                            found[0] = neighbor;
+                            found[1] = current;
+                            solved[0] = true;
+                            return;
+                        }
+                        buffer[buffered++] = neighbor;
+                        if (buffered == buffer.length) {
+                            try {
+                                flushRun();
+                            } catch (IOException e) {
+                                failed[0] = e;
+                            }
+                        }
+                    });
+                    if (failed[0] != null) {
+                        throw failed[0];
+                    }
+                }
+            }
+            if (solved[0]) {
+                if (buffered == buffer.length) {
+                    flushRun();
+                }
+                buffer[buffered++] = found[0];
+            }
+            flushRun();
+            return solved[0] ? found : null;
+        }
+
+        /** Sort the buffered states and write them as a run, without repeats
+         * @throws IOException if the run can not be written
+         */
+        private void flushRun() throws IOException {
+            if (buffered == 0) {
+                return;
+            }
+            Arrays.sort(buffer, 0, buffered);
+            Path run = newFile("run");
+            try (DataOutputStream out = writer(run)) {
+                for (int i = 0; i < buffered; i++) {
+                    if (i == 0 || buffer[i] != buffer[i - 1]) {
+                        out.writeLong(buffer[i]);
+                    }
+                }
+            }
+            runs.add(run);
+            buffered = 0;
+        }
+
+        /** Merge the runs of the layer being built into its layer file, dropping states
+         * found in earlier layers
+         * @param next the layer file to write
+         * @return the number of states in the new layer
+         * @throws IOException if a file can not be written or read
+         */
+        private long mergeRuns(Path next) throws IOException {
+            // merge in passes so no more than MAX_FAN_IN runs are open at once
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+                runs.subList(0, MAX_FAN_IN).clear();
+                Path merged = newFile("run");
+                merge(group, List.of(), merged);
+                deleteAll(group);
+                runs.add(merged);
+            }
+            // a neighbor of layer d can only repeat layer d or d - 1 when moves can be undone
+            List<Path> earlier = reversible ? layers.subList(Math.max(0, layers.size() - 2), layers.size()) : List.of(seen);
+            long size = merge(runs, earlier, next);
+            deleteAll(runs);
+            runs.clear();
+            return size;
+        }
+
+        /** Merge a new layer into the file of every state seen so far
+         * @param layer the layer file, which is kept
+         * @throws IOException if a file can not be written or read
+         */
+        private void addToSeen(Path layer) throws IOException {
+            Path merged = newFile("seen");
+            merge(List.of(seen, layer), List.of(), merged);
+            // the first layer is its own seen file until the second is added
+            if (seen != layers.get(0)) {
+                Files.delete(seen);
+            }
+            seen = merged;
+        }
+
+        /** Delete files
+         * @param files the files to delete
+         * @throws IOException if a file can not be deleted
+         */
+        private void deleteAll(List<Path> files) throws IOException {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+
+        /** Merge sorted files into one, without repeats and without any state of the excluded files
+         * @param inputs the sorted files to merge
+         * @param excluded sorted files of states to leave out
+         * @param output the file to write
+         * @return the number of states written
+         * @throws IOException if a file can not be written or read
+         */
+        private long merge(List<Path> inputs, List<Path> excluded, Path output) throws IOException {
+            PriorityQueue<LayerReader> heads = new PriorityQueue<>(Comparator.comparingLong((LayerReader reader) -> reader.head));
+            List<LayerReader> skips = new ArrayList<>();
+            long written = 0;
+            try (DataOutputStream out = writer(output)) {
+                for (Path input : inputs) {
+                    LayerReader reader = new LayerReader(input);
+                    if (reader.next()) {
+                        heads.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+                for (Path layer : excluded) {
+                    LayerReader reader = new LayerReader(layer);
+                    skips.add(reader);
+                    reader.next();
+                }
+                boolean any = false;
+                long last = 0;
+                while (!heads.isEmpty()) {
+                    LayerReader reader = heads.remove();
+                    long state = reader.head;
+                    if (reader.next()) {
+                        heads.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                    if (any && state == last) {
+                        continue;
+                    }
+                    any = true;
+                    last = state;
+                    if (!isIn(skips, state)) {
+                        out.writeLong(state);
+                        written++;
+                    }
+                }
+            } finally {
+                for (LayerReader reader : heads) {
+                    reader.close();
+                }
+                for (LayerReader reader : skips) {
+                    reader.close();
+                }
+            }
+            return written;
+        }
+
+        /** Determine if a state is in any of the excluded files, advancing each past smaller states
+         * @param skips readers of the excluded files, read up to the states being merged
+         * @param state the state to look for
+         * @return whether an excluded file holds the state
+         * @throws IOException if a file can not be read
+         */
+        private boolean isIn(List<LayerReader> skips, long state) throws IOException {
+            boolean found = false;
+            for (LayerReader skip : skips) {
+                while (!skip.done && skip.head < state) {
+                    skip.next();
+                }
+                found |= !skip.done && skip.head == state;
+            }
+            return found;
+        }
+
+        /** Rebuild the path by finding, in each earlier layer, a state one move before the
+         * state found in the layer after it
+         * @param solution the solution that was reached
+         * @param parent the state of the last layer the solution was reached from
+         * @return the path from the start to the solution
+         * @throws IOException if a layer can not be read
+         */
+        private List<Configuration> constructPath(long solution, long parent) throws IOException {
+            LinkedList<Configuration> path = new LinkedList<>();
+            path.addFirst(start.unpack(solution));
+            long current = parent;
+            for (int depth = layers.size() - 2; depth >= 0; depth--) {
+                path.addFirst(start.unpack(current));
+                current = findPredecessor(layers.get(depth), current);
+            }
+            path.addFirst(start);
+            return path;
+        }
+
+        /** Find a state of a layer that has a state as a neighbor
+         * @param layer the layer file to scan
+         * @param state the state to find a predecessor of
+         * @return a state of the layer one move before the state
+         * @throws IOException if the layer can not be read
+         */
+        private long findPredecessor(Path layer, long state) throws IOException {
+            boolean[] found = new boolean[1];
+            try (LayerReader states = new LayerReader(layer)) {
+                while (states.next()) {
+                    start.forEachNeighbor(states.head, neighbor -> found[0] |= neighbor == state);
+                    if (found[0]) {
+                        return states.head;
+                    }
+                }
+            }
+            throw new IllegalStateException("No predecessor of a state in " + layer);
+        }
+
+        /** Name a new file in the directory of the search
+         * @param kind what the file holds, used as the start of its name
+         * @return the path of the file
+         */
+        private Path newFile(String kind) {
+            return directory.resolve(kind + "-" + fileCount++ + ".bin");
+        }
+
+        /** Open a file for writing packed states
+         * @param file the file to write
+         * @return a buffered stream to the file
+         * @throws IOException if the file can not be created
+         */
+        private DataOutputStream writer(Path file) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER));
+        }
+    }
+
+    /**
+     * LayerReader class
+     * Reads the packed states of a layer or run file in order, one state ahead
+     */
+    private static class LayerReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long head;
+        private boolean done;
+
+        /** Open a file of packed states
+         * @param file the file to read
+         * @throws IOException if the file can not be opened
+         */
+        LayerReader(Path file) throws IOException {
+            remaining = Files.size(file) / Long.BYTES;
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER));
+        }
+
+        /** Read the next state into head
+         * @return whether there was another state
+         * @throws IOException if the file can not be read
+         */
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                done = true;
+                return false;
+            }
+            remaining--;
+            head = in.readLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package puzzles.common.solver;
+
+/**
+ * Heuristic interface
+ * Estimates the number of moves from a Configuration to its nearest solution for informed
+ * solvers. An estimate must never be more than the real number of moves.
+ */
+
+@FunctionalInterface
+public interface Heuristic {
+
+    /** Estimate the moves from a configuration to its nearest solution
+     * @param config the configuration to estimate
+     * @return a lower bound on the moves to a solution
+     */
+    int estimate(Configuration config);
+
+    /** Combine two heuristics by taking the larger estimate, which is still a lower bound
+     * @param first a heuristic
+     * @param second another heuristic
+     * @return a heuristic returning the larger of both estimates
+     */
+    static Heuristic max(Heuristic first, Heuristic second) {
+        return config -> Math.max(first.estimate(config), second.estimate(config));
+    }
+}
@@ -0,0 +1,178 @@
+package puzzles.common.solver;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * IncrementalSolver class
+ * Remembers previous solution paths, with each state's distance to the solution and its
+ * next step. Only the paths are kept, not the states a search explored. Asking again from a
+ * state on a remembered path needs no search. From any other state, a new breadth first
+ * search runs until it reaches a remembered state that can not be beaten, and the
+ * remembered path is reused from there. The first path, found while nothing is remembered,
+ * comes from a chosen Solver.
+ * One solver should only be used with configurations of a single puzzle. The paths are
+ * forgotten once they hold MAX_REMEMBERED states.
+ */
+
+public class IncrementalSolver {
+    private static final int MAX_REMEMBERED = 1 << 20; // states kept before the paths are forgotten
+    private final HashMap<Configuration, Configuration> nextSteps = new HashMap<>();
+    private final HashMap<Configuration, Integer> distances = new HashMap<>();
+    private final Solver solver;
+
+    /**
+     * Create a solver that searches breadth first when nothing is remembered
+     */
+    public IncrementalSolver(){
+        this(SolverStrategy.BREADTH_FIRST);
+    }
+
+    /** Create a solver
+     * @param solver the solver used while nothing is remembered
+     */
+    public IncrementalSolver(Solver solver){
+        this.solver = solver;
+    }
+
+    /** Get the next step of a shortest path from a configuration to a solution
+     * @param current the configuration to move from
+     * @return the next configuration on a shortest path, or null if there is no solution
+     */
+    public Configuration nextStep(Configuration current){
+        Configuration next = nextSteps.get(current);
+        if(next != null){
+            return next;
+        }
+        List<Configuration> path = repair(current, SolveOptions.UNLIMITED).getPath();
+        return path.size() < 2 ? null : path.get(1);
+    }
+
+    /** Get a shortest path from a configuration to a solution
+     * @param current the configuration to solve
+     * @return the path, or an empty list if there is no solution
+     */
+    public List<Configuration> solve(Configuration current){
+        return search(current, SolveOptions.UNLIMITED).getPath();
+    }
+
+    /** Search for a shortest path from a configuration to a solution within limits.
+     * A path that is already remembered is returned without searching.
+     * @param current the configuration to solve
+     * @param options the limits of any search needed
+     * @return the path found and the statistics of the search, BUDGET_EXHAUSTED if a limit was reached
+     */
+    public SolveResult search(Configuration current, SolveOptions options){
+        if(!nextSteps.containsKey(current)){
+            return repair(current, options);
+        }
+        List<Configuration> path = new LinkedList<>();
+        path.add(current);
+        // take at least one step, since the start may itself be a solution
+        Configuration first = nextSteps.get(current);
+        path.add(first);
+        followRemembered(path, first);
+        SolveStats stats = new SolveStats();
+        stats.finish();
+        return new SolveResult(path, stats);
+    }
+
+    /**
+     * Forget every remembered path
+     */
+    public void clear(){
+        nextSteps.clear();
+        distances.clear();
+    }
+
+    /** Search from a configuration until a solution or a remembered state gives a path
+     * no later state could beat, then remember the new path
+     * @param start the configuration to solve
+     * @param options the limits of the search, checked before each expansion
+     * @return the path found and the statistics of the search
+     */
+    private SolveResult repair(Configuration start, SolveOptions options){
+        if(distances.isEmpty()){
+            SolveResult result = solver.search(start, options);
+            remember(result.getPath());
+            return result;
+        }
+        SolveStats stats = new SolveStats();
+        HashMap<Configuration, Configuration> predecessors = new HashMap<>();
+        ArrayDeque<Configuration> queue = new ArrayDeque<>();
+        predecessors.put(start, null);
+        queue.add(start);
+        stats.discovered(0);
+        Configuration[] anchor = new Configuration[1];
+        int[] best = {Integer.MAX_VALUE};
+        // states found at a depth can not give a path shorter than that depth
+        for(int depth = 1; !queue.isEmpty() && depth < best[0]; depth++){
+            int neighborDepth = depth;
+            for(int levelSize = queue.size(); levelSize > 0; levelSize--){
+                if(options.isExhausted(stats)){
+                    return SolveResult.exhausted(stats);
+                }
+                Configuration current = queue.remove();
+                stats.expanded();
+                current.forEachNeighbor((move, config) -> {
+                    stats.generated();
+                    if(predecessors.containsKey(config)){
+                        return;
+                    }
+                    Configuration kept = config.detach();
+                    predecessors.put(kept, current);
+                    stats.discovered(neighborDepth);
+                    Integer remaining = kept.isSolution() ? Integer.valueOf(0) : distances.get(kept);
+                    if(remaining == null){
+                        queue.add(kept);
+                    } else if(neighborDepth + remaining < best[0]){
+                        best[0] = neighborDepth + remaining;
+                        anchor[0] = kept;
+                    }
+                });
+            }
+        }
+        stats.finish();
+        if(anchor[0] == null){
+            return new SolveResult(new LinkedList<>(), stats);
+        }
+        List<Configuration> path = BFS.constructPath(predecessors, start, anchor[0]);
+        followRemembered(path, anchor[0]);
+        remember(path);
+        return new SolveResult(path, stats);
+    }
+
+    /** Add the remembered steps from a state up to the first solution. A solution that was
+     * the start of a remembered path also has a next step, so the walk stops at solutions
+     * rather than at the end of the remembered steps.
+     * @param path the path to add the steps to
+     * @param from the state to follow, already on the path
+     */
+    private void followRemembered(List<Configuration> path, Configuration from){
+        for(Configuration step = from; !step.isSolution(); ){
+            step = nextSteps.get(step);
+            if(step == null){
+                return;
+            }
+            path.add(step);
+        }
+    }
+
+    /** Remember the distance and next step of every state on a path
+     * @param path a shortest path ending in a solution
+     */
+    private void remember(List<Configuration> path){
+        if(distances.size() + path.size() > MAX_REMEMBERED){
+            clear();
+        }
+        Configuration[] steps = path.toArray(new Configuration[0]);
+        for(int i = 0; i < steps.length; i++){
+            distances.put(steps[i], steps.length - 1 - i);
+            if(i + 1 < steps.length){
+                nextSteps.put(steps[i], steps[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package puzzles.common.solver;
+
+/**
+ * LongByteHashMap class
+ * An open addressing hash map from primitive long keys to primitive byte values, laid
+ * out like LongHashMap. A slot takes 9 bytes instead of 16, for values such as the move
+ * that reached a state.
+ */
+
+public class LongByteHashMap {
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30; // the largest power of two an array can hold
+    private long[] keys;
+    private byte[] values;
+    private boolean hasZeroKey; // 0 marks a free slot, so the key 0 is stored on its own
+    private byte zeroValue;
+    private int size;
+
+    /**
+     * Create an empty map
+     */
+    public LongByteHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new byte[MIN_CAPACITY];
+    }
+
+    /** Add a key to the map if it is not already present
+     * @param key the key to add
+     * @param value the value of the key
+     * @return whether the key was added
+     * @throws IllegalStateException if the map can not grow any larger
+     */
+    public boolean putIfAbsent(long key, byte value) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = LongHashMap.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        // keep the table at most half full so probe sequences stay short
+        if (size * 2 > keys.length) {
+            if (keys.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Map holds more than " + MAX_CAPACITY / 2 + " keys");
+            }
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /** Determine if the map contains a key
+     * @param key the key to look for
+     * @return whether the key is in the map
+     */
+    public boolean containsKey(long key) {
+        return find(key) != -1 || (key == 0 && hasZeroKey);
+    }
+
+    /** Get the value of a key
+     * @param key the key to look for
+     * @param missing the value to return if the key is not in the map
+     * @return the value of the key, or missing
+     */
+    public byte get(long key, byte missing) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        int slot = find(key);
+        return slot == -1 ? missing : values[slot];
+    }
+
+    /** Get the number of keys in the map
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Find the slot of a non zero key
+     * @param key the key to look for
+     * @return the slot of the key, or -1 if it is not in the map
+     */
+    private int find(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int slot = LongHashMap.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Move every key into a table of a new capacity
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[capacity];
+        values = new byte[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = LongHashMap.mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
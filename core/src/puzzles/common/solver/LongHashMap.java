@@ -0,0 +1,140 @@
+package puzzles.common.solver;
+
+/**
+ * LongHashMap class
+ * An open addressing hash map from primitive long keys to primitive long values.
+ * Keys are stored in a flat array with linear probing, so no entry objects are created.
+ */
+
+public class LongHashMap {
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30; // the largest power of two an array can hold
+    private long[] keys;
+    private long[] values;
+    private boolean hasZeroKey; // 0 marks a free slot, so the key 0 is stored on its own
+    private long zeroValue;
+    private int size;
+
+    /**
+     * Create an empty map
+     */
+    public LongHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new long[MIN_CAPACITY];
+    }
+
+    /** Add a key to the map if it is not already present
+     * @param key the key to add
+     * @param value the value of the key
+     * @return whether the key was added
+     * @throws IllegalStateException if the map can not grow any larger
+     */
+    public boolean putIfAbsent(long key, long value) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        // keep the table at most half full so probe sequences stay short
+        if (size * 2 > keys.length) {
+            if (keys.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Map holds more than " + MAX_CAPACITY / 2 + " keys");
+            }
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /** Determine if the map contains a key
+     * @param key the key to look for
+     * @return whether the key is in the map
+     */
+    public boolean containsKey(long key) {
+        return find(key) != -1 || (key == 0 && hasZeroKey);
+    }
+
+    /** Get the value of a key
+     * @param key the key to look for
+     * @param missing the value to return if the key is not in the map
+     * @return the value of the key, or missing
+     */
+    public long get(long key, long missing) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        int slot = find(key);
+        return slot == -1 ? missing : values[slot];
+    }
+
+    /** Get the number of keys in the map
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Find the slot of a non zero key
+     * @param key the key to look for
+     * @return the slot of the key, or -1 if it is not in the map
+     */
+    private int find(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Move every key into a table of a new capacity
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys, oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /** Spread the bits of a key so packed states with similar low bits land in different slots
+     * @param key the key to mix
+     * @return the mixed hash of the key
+     */
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,75 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+
+/**
+ * LongQueue class
+ * A first in first out queue of primitive longs backed by a growable ring buffer
+ */
+
+public class LongQueue {
+    private static final int MAX_CAPACITY = 1 << 30; // the largest power of two an array can hold
+    private long[] buffer;
+    private int head, size;
+
+    /**
+     * Create an empty queue
+     */
+    public LongQueue() {
+        buffer = new long[64];
+    }
+
+    /** Add a value to the back of the queue
+     * @param value the value to add
+     * @throws IllegalStateException if the queue can not grow any larger
+     */
+    public void add(long value) {
+        if (size == buffer.length) {
+            grow();
+        }
+        buffer[(head + size) & (buffer.length - 1)] = value;
+        size++;
+    }
+
+    /** Remove the value at the front of the queue
+     * @return the value at the front of the queue
+     */
+    public long remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        long value = buffer[head];
+        head = (head + 1) & (buffer.length - 1);
+        size--;
+        return value;
+    }
+
+    /** Get the number of values in the queue
+     * @return the number of values in the queue
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Determine if the queue is empty
+     * @return if the queue is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Double the buffer, unrolling the ring so the front is at index 0
+     */
+    private void grow() {
+        if (buffer.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Queue holds more than " + MAX_CAPACITY + " values");
+        }
+        long[] larger = Arrays.copyOf(buffer, buffer.length * 2);
+        // the values before head wrapped around; move them after the old end
+        System.arraycopy(buffer, 0, larger, buffer.length, head);
+        System.arraycopy(larger, head, larger, 0, buffer.length);
+        head = 0;
+        buffer = larger;
+    }
+}
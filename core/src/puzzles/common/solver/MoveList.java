@@ -0,0 +1,144 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * MoveList class
+ * A solution stored as its start configuration and the moves made from it, using the
+ * move codes of forEachNeighbor. The configurations along the way are only built when
+ * the moves are replayed, and every move is checked against the configuration it is
+ * made from.
+ */
+
+public class MoveList implements Iterable<Configuration> {
+    private final Configuration start;
+    private final int[] moves;
+
+    /** Create a move list
+     * @param start the configuration the moves are made from
+     * @param moves the move codes, in order, owned by the new list
+     */
+    public MoveList(Configuration start, int[] moves) {
+        this.start = start;
+        this.moves = moves;
+    }
+
+    /** Find the moves between the configurations of a path
+     * @param path a path of configurations, each one move from the one before
+     * @return the moves of the path
+     * @throws IllegalArgumentException if the path is empty or two steps are not one move apart
+     */
+    public static MoveList of(List<Configuration> path) {
+        if (path.isEmpty())
+            throw new IllegalArgumentException("A move list needs a start configuration");
+        int[] moves = new int[path.size() - 1];
+        Iterator<Configuration> steps = path.iterator();
+        Configuration previous = steps.next();
+        for (int i = 0; i < moves.length; i++) {
+            Configuration next = steps.next();
+            moves[i] = previous.moveTo(next);
+            if (moves[i] == -1)
+                throw new IllegalArgumentException("Step " + (i + 1) + " of the path is not one move from step " + i);
+            previous = next;
+        }
+        return new MoveList(path.get(0), moves);
+    }
+
+    /** Get the configuration the moves are made from
+     * @return the start configuration
+     */
+    public Configuration getStart() {
+        return start;
+    }
+
+    /** Get the number of moves
+     * @return the number of moves
+     */
+    public int size() {
+        return moves.length;
+    }
+
+    /** Get a move
+     * @param index the number of the move, from 0
+     * @return the move code
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /** Get every move
+     * @return a copy of the move codes, in order
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    /** Make every move from the start without keeping the configurations in between
+     * @return the configuration after the last move
+     * @throws IllegalStateException if a move can not be made
+     */
+    public Configuration replay() {
+        Configuration current = start;
+        for (int i = 0; i < moves.length; i++) {
+            current = apply(current, i);
+        }
+        return current;
+    }
+
+    /** Build every configuration of the solution
+     * @return the start followed by the configuration after each move
+     * @throws IllegalStateException if a move can not be made
+     */
+    public List<Configuration> toPath() {
+        List<Configuration> path = new ArrayList<>(moves.length + 1);
+        forEach(path::add);
+        return path;
+    }
+
+    /** Step through the configurations of the solution, building each one when it is reached
+     * @return the start followed by the configuration after each move
+     */
+    @Override
+    public Iterator<Configuration> iterator() {
+        return new Iterator<>() {
+            private Configuration current;
+            private int next = -1; // the move that reaches the next configuration, -1 for the start
+
+            @Override
+            public boolean hasNext() {
+                return next < moves.length;
+            }
+
+            @Override
+            public Configuration next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                current = next == -1 ? start : apply(current, next);
+                next++;
+                return current;
+            }
+        };
+    }
+
+    /** Make one move
+     * @param current the configuration to move from
+     * @param index the number of the move
+     * @return the configuration after the move
+     * @throws IllegalStateException if the move can not be made
+     */
+    private Configuration apply(Configuration current, int index) {
+        Configuration next = current.applyMove(moves[index]);
+        if (next == null)
+            throw new IllegalStateException("Move " + index + " (" + moves[index] + ") can not be made");
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(moves);
+    }
+}
@@ -0,0 +1,17 @@
+package puzzles.common.solver;
+
+/**
+ * NeighborSink interface
+ * Receives the neighbors of a Configuration one at a time from forEachNeighbor
+ */
+
+@FunctionalInterface
+public interface NeighborSink {
+
+    /** Receive a neighbor. The neighbor may be reused for the next call, so a sink that
+     * keeps it must keep neighbor.detach() instead.
+     * @param move identifies the move from the configuration to the neighbor
+     * @param neighbor the neighbor, only valid until this call returns
+     */
+    void accept(int move, Configuration neighbor);
+}
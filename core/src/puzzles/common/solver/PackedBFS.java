@@ -0,0 +1,163 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * BFS Solver for PackedConfigurations
+ * Visited states are kept in primitive maps and the frontier in a LongQueue, so no state
+ * is boxed during the search. When moves can be undone (ReversiblePackedConfiguration)
+ * the map is a LongByteHashMap of the move that reached each state, and the solution is
+ * rebuilt by undoing moves backward from the goal. Otherwise it is a LongHashMap of the
+ * state each one was reached from, which takes 16 bytes a slot instead of 9.
+ */
+
+public class PackedBFS {
+    /** the move stored for the start, which no move may use */
+    private static final int START = 0xFF;
+
+    public static List<Configuration> solve(PackedConfiguration start){
+        return search(start).getPath();
+    }
+
+    /** Solve on an executor. Each solve keeps its own search state, so many puzzles
+     * can be solved at the same time on one pool.
+     * @param start the configuration to solve
+     * @param executor the executor to run the solve on
+     * @return a future completed with the path, empty if there is no solution
+     */
+    public static CompletableFuture<List<Configuration>> solveAsync(PackedConfiguration start, Executor executor){
+        return CompletableFuture.supplyAsync(() -> solve(start), executor);
+    }
+
+    /** Search on an executor. Each search keeps its own search state, so many puzzles
+     * can be searched at the same time on one pool.
+     * @param start the configuration to solve
+     * @param executor the executor to run the search on
+     * @return a future completed with the result of the search
+     */
+    public static CompletableFuture<SolveResult> searchAsync(PackedConfiguration start, Executor executor){
+        return CompletableFuture.supplyAsync(() -> search(start), executor);
+    }
+
+    public static SolveResult search(PackedConfiguration start){
+        return search(start, SolveOptions.UNLIMITED);
+    }
+
+    /** Search within limits
+     * @param start the configuration to solve
+     * @param options the limits of the search, checked before each expansion
+     * @return the result of the search, BUDGET_EXHAUSTED if a limit was reached
+     */
+    public static SolveResult search(PackedConfiguration start, SolveOptions options){
+        SolveStats stats = new SolveStats();
+        // reversible puzzles keep the move that reached each state, others the state it was reached from
+        ReversiblePackedConfiguration reversible = start instanceof ReversiblePackedConfiguration
+                ? (ReversiblePackedConfiguration) start : null;
+        LongByteHashMap moves = reversible != null ? new LongByteHashMap() : null;
+        LongHashMap predecessors = reversible == null ? new LongHashMap() : null;
+        LongQueue queue = new LongQueue();
+        long startState = start.pack();
+        // the start has no move and is its own predecessor, which ends the walk back to it
+        if(moves != null)
+            moves.putIfAbsent(startState, (byte) START);
+        else
+            predecessors.putIfAbsent(startState, startState);
+        queue.add(startState);
+        stats.discovered(0);
+        stats.frontier(queue.size());
+        // the solution is not stored, since it may equal the start, so keep the move that reached it
+        long[] found = new long[2]; // the solution and the state it was reached from
+        int[] foundMove = new int[1];
+        boolean[] solved = new boolean[1];
+        for(int depth = 1; !queue.isEmpty() && !solved[0]; depth++){
+            int neighborDepth = depth;
+            for(int levelSize = queue.size(); levelSize > 0 && !solved[0]; levelSize--){
+                if(options.isExhausted(stats)){
+                    return SolveResult.exhausted(stats);
+                }
+                long current = queue.remove();
+                stats.expanded();
+                start.forEachNeighbor(current, (move, neighbor) -> {
+                    if(solved[0]){
+                        return;
+                    }
+                    if(moves != null && (move < 0 || move >= START)){
+                        throw new IllegalStateException("Move " + move + " does not fit in a byte");
+                    }
+                    stats.generated();
+                    if(start.isSolution(neighbor)){
+                        found[0] = neighbor;
+                        found[1] = current;
+                        foundMove[0] = move;
+                        solved[0] = true;
+                        if(!(moves != null ? moves.containsKey(neighbor) : predecessors.containsKey(neighbor)))
+                            stats.discovered(neighborDepth);
+                    } else if(moves != null ? moves.putIfAbsent(neighbor, (byte) move) : predecessors.putIfAbsent(neighbor, current)){
+                        queue.add(neighbor);
+                        stats.discovered(neighborDepth);
+                    }
+                });
+                stats.frontier(queue.size());
+            }
+        }
+        stats.finish();
+        if(!solved[0]){
+            return new SolveResult(new LinkedList<>(), stats);
+        }
+        if(moves != null){
+            return new SolveResult(constructMoves(moves, reversible, found[1], foundMove[0]), stats);
+        }
+        List<Configuration> path = constructPath(predecessors, start, startState, found[1]);
+        path.add(start.unpack(found[0]));
+        return new SolveResult(path, stats);
+    }
+
+    /** Rebuild the moves of a solution by undoing them backward from its end
+     * @param moves the move that reached each visited state, START for the start
+     * @param start the start of the search
+     * @param last the packed state the solution was reached from
+     * @param lastMove the move that reached the solution
+     * @return the moves from the start to the solution
+     */
+    private static MoveList constructMoves(LongByteHashMap moves, ReversiblePackedConfiguration start, long last, int lastMove){
+        int[] backward = new int[16];
+        int length = 0;
+        backward[length++] = lastMove;
+        long state = last;
+        for(int move = moves.get(state, (byte) START) & 0xFF; move != START; move = moves.get(state, (byte) START) & 0xFF){
+            if(length == backward.length){
+                backward = Arrays.copyOf(backward, length * 2);
+            }
+            backward[length++] = move;
+            state = start.applyMove(state, start.inverseMove(move));
+        }
+        // the moves were found from the end, so put them in order
+        int[] ordered = new int[length];
+        for(int i = 0; i < length; i++){
+            ordered[i] = backward[length - 1 - i];
+        }
+        return new MoveList(start, ordered);
+    }
+
+    /** Rebuild the path of a solution by following predecessors backward from its end
+     * @param predecessors the state each visited state was reached from, the start for itself
+     * @param start the start of the search
+     * @param startState the packed start
+     * @param end the packed state the solution was reached from
+     * @return the configurations from the start to end
+     */
+    private static List<Configuration> constructPath(LongHashMap predecessors, PackedConfiguration start, long startState, long end){
+        LinkedList<Configuration> path = new LinkedList<>();
+        long currState = end;
+        while(currState != startState){
+            path.addFirst(start.unpack(currState));
+            currState = predecessors.get(currState, startState);
+        }
+        path.addFirst(start);
+        return path;
+    }
+}
@@ -0,0 +1,48 @@
+package puzzles.common.solver;
+
+import java.util.function.LongConsumer;
+
+/**
+ * PackedConfiguration interface
+ * A Configuration whose states can be encoded in a single long, so a solver can
+ * search without creating an object per state
+ */
+
+public interface PackedConfiguration extends Configuration {
+
+    /** Determine if every state of this configuration's puzzle fits in a long
+     * @return if the states of the puzzle can be packed
+     */
+    boolean canPack();
+
+    /** Encode the Configuration as a long
+     * @return the packed state of the Configuration
+     */
+    long pack();
+
+    /** Build the Configuration of a packed state of the same puzzle
+     * @param state a packed state
+     * @return the Configuration the state encodes
+     */
+    Configuration unpack(long state);
+
+    /** Determine if a packed state is a solution
+     * @param state a packed state
+     * @return if the state is a solution
+     */
+    boolean isSolution(long state);
+
+    /** Pass each neighbor of a packed state to a sink
+     * @param state a packed state
+     * @param sink receives the packed state of each neighbor
+     */
+    default void forEachNeighbor(long state, LongConsumer sink) {
+        forEachNeighbor(state, (move, neighbor) -> sink.accept(neighbor));
+    }
+
+    /** Pass each neighbor of a packed state to a sink with the move that reaches it
+     * @param state a packed state
+     * @param sink receives each move and the packed state it reaches
+     */
+    void forEachNeighbor(long state, PackedNeighborSink sink);
+}
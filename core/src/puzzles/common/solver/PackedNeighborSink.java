@@ -0,0 +1,16 @@
+package puzzles.common.solver;
+
+/**
+ * PackedNeighborSink interface
+ * Receives the neighbors of a packed state one at a time, with the move that reaches each
+ */
+
+@FunctionalInterface
+public interface PackedNeighborSink {
+
+    /** Receive a neighbor
+     * @param move identifies the move from the state to the neighbor, as for forEachNeighbor
+     * @param neighbor the packed state of the neighbor
+     */
+    void accept(int move, long neighbor);
+}
@@ -0,0 +1,118 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parallel BFS Solver class
+ * Expands each depth level of the search on every core with a parallel stream.
+ * Visited states and their predecessors are kept in a ConcurrentHashMap, and a level is
+ * finished before the next one starts, so the path found is still a shortest path.
+ */
+
+public class ParallelBFS {
+
+    public static List<Configuration> solve(Configuration start){
+        return search(start).getPath();
+    }
+
+    public static SolveResult search(Configuration start){
+        return search(start, SolveOptions.UNLIMITED);
+    }
+
+    /** Search within limits. The expansion and visited limits are checked between levels,
+     * and cancellation and time are also checked before each expansion.
+     * @param start the configuration to solve
+     * @param options the limits of the search
+     * @return the result of the search, BUDGET_EXHAUSTED if a limit was reached
+     */
+    public static SolveResult search(Configuration start, SolveOptions options){
+        SolveStats stats = new SolveStats();
+        ConcurrentHashMap<Configuration, Configuration> predecessors = new ConcurrentHashMap<>();
+        // the start is its own predecessor, since the map can not hold null values
+        predecessors.put(start, start);
+        List<Configuration> frontier = List.of(start);
+        stats.discovered(0);
+        stats.frontier(frontier.size());
+        AtomicReference<Configuration[]> found = new AtomicReference<>(); // a solution and its predecessor
+        LongAdder generated = new LongAdder();
+        for(int depth = 1; !frontier.isEmpty(); depth++){
+            if(options.isExhausted(stats)){
+                return SolveResult.exhausted(stats);
+            }
+            List<Configuration> next = frontier.parallelStream()
+                    .flatMap(current -> options.isOutOfTime(stats) ? Stream.empty() : expand(current, predecessors, found, generated))
+                    .collect(Collectors.toList());
+            if(found.get() == null && options.isOutOfTime(stats)){
+                // the level was cut short, so its counts are not kept
+                return SolveResult.exhausted(stats);
+            }
+            stats.expanded(frontier.size());
+            stats.generated(generated.sumThenReset());
+            stats.discovered(depth, next.size());
+            if(found.get() != null){
+                Configuration[] solution = found.get();
+                if(!predecessors.containsKey(solution[0]))
+                    stats.discovered(depth);
+                stats.finish();
+                List<Configuration> path = constructPath(predecessors, start, solution[1]);
+                path.add(solution[0]);
+                return new SolveResult(path, stats);
+            }
+            stats.frontier(next.size());
+            frontier = next;
+        }
+        stats.finish();
+        return new SolveResult(new LinkedList<>(), stats);
+    }
+
+    /** Expand a state of the current level
+     * @param current the state to expand
+     * @param predecessors the visited states and their predecessors
+     * @param found set to the first solution seen and its predecessor
+     * @param generated counts the generated neighbors
+     * @return the neighbors seen for the first time
+     */
+    private static Stream<Configuration> expand(Configuration current, ConcurrentHashMap<Configuration, Configuration> predecessors,
+                                                AtomicReference<Configuration[]> found, LongAdder generated){
+        if(found.get() != null){
+            return Stream.empty();
+        }
+        List<Configuration> added = new ArrayList<>();
+        boolean[] solved = new boolean[1];
+        current.forEachNeighbor((move, config) -> {
+            if(solved[0]){
+                return;
+            }
+            generated.increment();
+            if(config.isSolution()){
+                found.compareAndSet(null, new Configuration[]{config.detach(), current});
+                solved[0] = true;
+            } else if(!predecessors.containsKey(config)){
+                // another thread may add the same state between the check and the insert
+                Configuration kept = config.detach();
+                if(predecessors.putIfAbsent(kept, current) == null){
+                    added.add(kept);
+                }
+            }
+        });
+        return solved[0] ? Stream.empty() : added.stream();
+    }
+
+    public static List<Configuration> constructPath(ConcurrentHashMap<Configuration, Configuration> predecessors, Configuration start, Configuration end){
+        LinkedList<Configuration> path = new LinkedList<>();
+        Configuration currNode = end;
+        while(currNode != start){
+            path.addFirst(currNode);
+            currNode = predecessors.get(currNode);
+        }
+        path.addFirst(start);
+        return path;
+    }
+}
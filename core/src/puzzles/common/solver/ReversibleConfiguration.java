@@ -0,0 +1,11 @@
+package puzzles.common.solver;
+
+/**
+ * ReversibleConfiguration interface
+ * A Configuration where every move can be undone by another move, so the neighbors of a
+ * configuration are also the configurations that lead to it. Such a puzzle can also be
+ * searched backward from its solutions.
+ */
+
+public interface ReversibleConfiguration extends Configuration {
+}
@@ -0,0 +1,23 @@
+package puzzles.common.solver;
+
+/**
+ * ReversiblePackedConfiguration interface
+ * A PackedConfiguration whose moves can be made and undone on packed states, so PackedBFS
+ * can keep the move that reached each state instead of the state it was reached from
+ */
+
+public interface ReversiblePackedConfiguration extends PackedConfiguration, ReversibleConfiguration {
+
+    /** Make a move from a packed state
+     * @param state a packed state
+     * @param move a move that can be made from the state, as passed by forEachNeighbor
+     * @return the packed state the move reaches
+     */
+    long applyMove(long state, int move);
+
+    /** Get the move that undoes a move, so PackedBFS can rebuild a path backward from its moves
+     * @param move a move as passed by forEachNeighbor
+     * @return the move that leads back from the state reached by move
+     */
+    int inverseMove(int move);
+}
@@ -0,0 +1,128 @@
+package puzzles.common.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * SolveOptions class
+ * Limits on a single solve: how many states it may expand, how many distinct states it
+ * may visit, how long it may run, and a token that cancels it. A solve that reaches a
+ * limit returns a SolveResult with status BUDGET_EXHAUSTED and the statistics gathered
+ * so far. A progress listener can also be given the statistics of a running solve.
+ * Options are immutable; each with method returns a copy with one setting changed.
+ */
+
+public class SolveOptions {
+    /** options without any limit */
+    public static final SolveOptions UNLIMITED = new SolveOptions(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, false, 0, null,
+            null, 0);
+
+    private final long maxExpanded, maxVisited;
+    private final long timeoutNanos; // measured from the start of each solve
+    private final boolean hasDeadline;
+    private final long deadlineNanos; // in System.nanoTime terms
+    private final CancellationToken cancellation;
+    private final Consumer<SolveStats> progress;
+    private final long progressIntervalNanos;
+
+    private SolveOptions(long maxExpanded, long maxVisited, long timeoutNanos, boolean hasDeadline, long deadlineNanos,
+                         CancellationToken cancellation, Consumer<SolveStats> progress, long progressIntervalNanos) {
+        this.maxExpanded = maxExpanded;
+        this.maxVisited = maxVisited;
+        this.timeoutNanos = timeoutNanos;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.cancellation = cancellation;
+        this.progress = progress;
+        this.progressIntervalNanos = progressIntervalNanos;
+    }
+
+    /** Limit the number of states whose neighbors are generated. The limit is inclusive: a
+     * solve may expand exactly maxExpanded states and stops before expanding another.
+     * @param maxExpanded the most states a solve may expand
+     * @return options with the limit
+     */
+    public SolveOptions withMaxExpanded(long maxExpanded) {
+        return new SolveOptions(maxExpanded, maxVisited, timeoutNanos, hasDeadline, deadlineNanos, cancellation, progress,
+                progressIntervalNanos);
+    }
+
+    /** Limit the number of distinct states a solve keeps. The limit is inclusive, like
+     * withMaxExpanded: a solve stops before its next expansion once it has visited
+     * maxVisited states. The states found by the expansion that reaches the limit are kept,
+     * so the count may end a few states past it. ExternalBFS counts the states of a layer
+     * when the layer is merged, and ParallelBFS checks both limits between layers, so they
+     * may end up to a layer past it.
+     * @param maxVisited the most states a solve may visit
+     * @return options with the limit
+     */
+    public SolveOptions withMaxVisited(long maxVisited) {
+        return new SolveOptions(maxExpanded, maxVisited, timeoutNanos, hasDeadline, deadlineNanos, cancellation, progress,
+                progressIntervalNanos);
+    }
+
+    /** Limit how long each solve may run, counted from the start of that solve
+     * @param timeout the longest a solve may run
+     * @return options with the limit
+     */
+    public SolveOptions withTimeout(Duration timeout) {
+        return new SolveOptions(maxExpanded, maxVisited, timeout.toNanos(), hasDeadline, deadlineNanos, cancellation, progress,
+                progressIntervalNanos);
+    }
+
+    /** Stop solves at a point in time
+     * @param deadline the time by which a solve must end
+     * @return options with the deadline
+     */
+    public SolveOptions withDeadline(Instant deadline) {
+        long remaining = Duration.between(Instant.now(), deadline).toNanos();
+        return new SolveOptions(maxExpanded, maxVisited, timeoutNanos, true, System.nanoTime() + remaining, cancellation, progress,
+                progressIntervalNanos);
+    }
+
+    /** Let a token cancel solves
+     * @param cancellation the token that stops solves using these options
+     * @return options with the token
+     */
+    public SolveOptions withCancellation(CancellationToken cancellation) {
+        return new SolveOptions(maxExpanded, maxVisited, timeoutNanos, hasDeadline, deadlineNanos, cancellation, progress,
+                progressIntervalNanos);
+    }
+
+    /** Report the statistics of running solves. The listener is called on the solving
+     * thread, so it should hand the report off rather than do slow work.
+     * @param progress the listener given the statistics so far
+     * @param interval the time between reports
+     * @return options with the listener
+     */
+    public SolveOptions withProgress(Consumer<SolveStats> progress, Duration interval) {
+        return new SolveOptions(maxExpanded, maxVisited, timeoutNanos, hasDeadline, deadlineNanos, cancellation, progress,
+                interval.toNanos());
+    }
+
+    /** Determine if a solve has reached any limit, reporting its progress when a report is due
+     * @param stats the statistics of the solve so far
+     * @return whether the solve must stop
+     */
+    boolean isExhausted(SolveStats stats) {
+        if (progress != null && stats.progressDue(progressIntervalNanos))
+            progress.accept(stats);
+        // both limits are inclusive: reaching one stops the solve before the next expansion
+        return stats.getExpanded() >= maxExpanded || stats.getUnique() >= maxVisited || isOutOfTime(stats);
+    }
+
+    /** Determine if a solve has been cancelled or run out of time. Unlike isExhausted, this
+     * only reads the start time of the stats, so it can be checked from any thread.
+     * @param stats the statistics of the solve so far
+     * @return whether the solve must stop
+     */
+    boolean isOutOfTime(SolveStats stats) {
+        if (cancellation != null && cancellation.isCancelled())
+            return true;
+        if (timeoutNanos == Long.MAX_VALUE && !hasDeadline)
+            return false;
+        long now = System.nanoTime();
+        return now - stats.getStartNanos() >= timeoutNanos || (hasDeadline && now - deadlineNanos >= 0);
+    }
+}
@@ -0,0 +1,114 @@
+package puzzles.common.solver;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * SolveResult class
+ * The path found by a solver together with the statistics of the solve. A solution is
+ * kept either as its configurations or as a MoveList, and turned into the other form
+ * the first time it is asked for.
+ */
+
+public class SolveResult {
+    /**
+     * How a solve ended
+     */
+    public enum Status {
+        /** a shortest path to a solution was found */
+        SOLVED,
+        /** every reachable state was searched without finding a solution */
+        NO_SOLUTION,
+        /** a limit of the SolveOptions was reached before the search ended */
+        BUDGET_EXHAUSTED
+    }
+
+    private List<Configuration> path; // null until built from moves
+    private MoveList moves; // null until built from path, or if there is no solution
+    private final SolveStats stats;
+    private final Status status;
+
+    /** Create the result of a finished solve
+     * @param path the path from the start to a solution, empty if there is none
+     * @param stats the statistics of the solve
+     */
+    public SolveResult(List<Configuration> path, SolveStats stats) {
+        this(path, stats, path.isEmpty() ? Status.NO_SOLUTION : Status.SOLVED);
+    }
+
+    /** Create the result of a solve that found a solution
+     * @param moves the moves from the start to a solution
+     * @param stats the statistics of the solve
+     */
+    public SolveResult(MoveList moves, SolveStats stats) {
+        this.moves = moves;
+        this.stats = stats;
+        this.status = Status.SOLVED;
+    }
+
+    /** Create a solve result
+     * @param path the path from the start to a solution, empty unless the status is SOLVED
+     * @param stats the statistics of the solve
+     * @param status how the solve ended
+     */
+    private SolveResult(List<Configuration> path, SolveStats stats, Status status) {
+        this.path = path;
+        this.stats = stats;
+        this.status = status;
+    }
+
+    /** Create the result of a solve stopped by its SolveOptions, finishing its statistics
+     * @param stats the statistics gathered before the solve stopped
+     * @return a result with an empty path and status BUDGET_EXHAUSTED
+     */
+    static SolveResult exhausted(SolveStats stats) {
+        stats.finish();
+        return new SolveResult(new LinkedList<>(), stats, Status.BUDGET_EXHAUSTED);
+    }
+
+    /** Get the path from the start to a solution, building it from the moves if needed
+     * @return the path, or an empty list if there is no solution
+     */
+    public List<Configuration> getPath() {
+        if (path == null)
+            path = moves.toPath();
+        return path;
+    }
+
+    /** Get the moves from the start to a solution, finding them from the path if needed
+     * @return the moves, or null if there is no solution
+     */
+    public MoveList getMoveList() {
+        if (moves == null && status == Status.SOLVED)
+            moves = MoveList.of(path);
+        return moves;
+    }
+
+    /** Get the statistics of the solve
+     * @return the statistics of the solve
+     */
+    public SolveStats getStats() {
+        return stats;
+    }
+
+    /** Get how the solve ended
+     * @return whether the solve found a solution, showed there is none, or ran out of budget
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /** Determine if a solution was found
+     * @return whether a solution was found
+     */
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /** Determine if the solve stopped at a limit of its SolveOptions
+     * @return whether the solve ran out of budget
+     */
+    public boolean isBudgetExhausted() {
+        return status == Status.BUDGET_EXHAUSTED;
+    }
+}
@@ -0,0 +1,162 @@
+package puzzles.common.solver;
+
+import java.util.Arrays;
+
+/**
+ * SolveStats class
+ * Counters gathered by a solver over a single solve
+ */
+
+public class SolveStats {
+    private final long startNanos = System.nanoTime();
+    private long wallTimeNanos = -1;
+    private long generated, expanded, unique;
+    private int peakFrontier;
+    private int[] depthCounts = new int[16];
+    private int maxDepth = -1;
+    private long lastProgressNanos = startNanos;
+
+    /**
+     * Count a neighbor generated by an expansion, whether or not it was new
+     */
+    void generated() {
+        generated++;
+    }
+
+    /** Count neighbors generated by several expansions
+     * @param count the number of generated neighbors
+     */
+    void generated(long count) {
+        generated += count;
+    }
+
+    /**
+     * Count a state whose neighbors were generated
+     */
+    void expanded() {
+        expanded++;
+    }
+
+    /** Count several states whose neighbors were generated
+     * @param count the number of expanded states
+     */
+    void expanded(long count) {
+        expanded += count;
+    }
+
+    /** Count a state seen for the first time
+     * @param depth the number of moves from the start to the state
+     */
+    void discovered(int depth) {
+        discovered(depth, 1);
+    }
+
+    /** Count states seen for the first time at the same depth
+     * @param depth the number of moves from the start to the states
+     * @param count the number of states
+     */
+    void discovered(int depth, int count) {
+        if (depth >= depthCounts.length) {
+            depthCounts = Arrays.copyOf(depthCounts, Math.max(depth + 1, depthCounts.length * 2));
+        }
+        depthCounts[depth] += count;
+        maxDepth = Math.max(maxDepth, depth);
+        unique += count;
+    }
+
+    /** Record the current size of the frontier
+     * @param size the number of states waiting to be expanded
+     */
+    void frontier(int size) {
+        peakFrontier = Math.max(peakFrontier, size);
+    }
+
+    /** Get when the solve started
+     * @return the System.nanoTime of the start of the solve
+     */
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /** Determine if a progress report is due, and if so start the next interval
+     * @param intervalNanos the time between reports
+     * @return whether at least an interval has passed since the last report
+     */
+    boolean progressDue(long intervalNanos) {
+        long now = System.nanoTime();
+        if (now - lastProgressNanos < intervalNanos)
+            return false;
+        lastProgressNanos = now;
+        return true;
+    }
+
+    /**
+     * Stop the clock at the end of the solve
+     */
+    void finish() {
+        wallTimeNanos = System.nanoTime() - startNanos;
+    }
+
+    /** Get the number of neighbors generated, including repeats
+     * @return the number of generated states
+     */
+    public long getGenerated() {
+        return generated;
+    }
+
+    /** Get the number of distinct states seen
+     * @return the number of unique states
+     */
+    public long getUnique() {
+        return unique;
+    }
+
+    /** Get the number of states whose neighbors were generated
+     * @return the number of expanded states
+     */
+    public long getExpanded() {
+        return expanded;
+    }
+
+    /** Get the largest number of states waiting to be expanded at once
+     * @return the peak frontier size
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /** Get the number of unique states first seen at each depth
+     * @return the unique state count indexed by depth
+     */
+    public int[] getDepthCounts() {
+        return Arrays.copyOf(depthCounts, maxDepth + 1);
+    }
+
+    /** Get the deepest level a state has been found at so far
+     * @return the number of moves from the start to the deepest state, -1 if none
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** Get the time the solve has been running, which is the wall time once it has finished
+     * @return the elapsed time of the solve in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return wallTimeNanos == -1 ? System.nanoTime() - startNanos : wallTimeNanos;
+    }
+
+    /** Get the time the solve took
+     * @return the wall time of the solve in nanoseconds
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /** Get the time the solve took
+     * @return the wall time of the solve in seconds
+     */
+    public double getWallTimeSeconds() {
+        return wallTimeNanos / 1e9;
+    }
+}
@@ -0,0 +1,34 @@
+package puzzles.common.solver;
+
+import java.util.List;
+
+/**
+ * Solver interface
+ * A search strategy that finds a path from a Configuration to a solution
+ */
+
+public interface Solver {
+
+    /** Search for a shortest path from a configuration to a solution within limits
+     * @param start the configuration to solve
+     * @param options the limits of the search
+     * @return the path found and the statistics of the search
+     */
+    SolveResult search(Configuration start, SolveOptions options);
+
+    /** Search for a shortest path from a configuration to a solution
+     * @param start the configuration to solve
+     * @return the path found and the statistics of the search
+     */
+    default SolveResult search(Configuration start) {
+        return search(start, SolveOptions.UNLIMITED);
+    }
+
+    /** Find a shortest path from a configuration to a solution
+     * @param start the configuration to solve
+     * @return the path, or an empty list if there is no solution
+     */
+    default List<Configuration> solve(Configuration start) {
+        return search(start).getPath();
+    }
+}
@@ -0,0 +1,82 @@
+package puzzles.common.solver;
+
+/**
+ * SolverStrategy enum
+ * The solvers a user can choose from by name. A strategy that needs more than a plain
+ * Configuration falls back to BFS for configurations that do not support it.
+ */
+
+public enum SolverStrategy implements Solver {
+    BREADTH_FIRST("bfs") {
+        @Override
+        public SolveResult search(Configuration start, SolveOptions options) {
+            return BFS.search(start, options);
+        }
+    },
+    PACKED("packed") {
+        @Override
+        public SolveResult search(Configuration start, SolveOptions options) {
+            if (start instanceof PackedConfiguration && ((PackedConfiguration) start).canPack()) {
+                return PackedBFS.search((PackedConfiguration) start, options);
+            }
+            return BFS.search(start, options);
+        }
+    },
+    PARALLEL("parallel") {
+        @Override
+        public SolveResult search(Configuration start, SolveOptions options) {
+            return ParallelBFS.search(start, options);
+        }
+    },
+    A_STAR("astar") {
+        @Override
+        public SolveResult search(Configuration start, SolveOptions options) {
+            return new AStar().search(start, options);
+        }
+    },
+    EXTERNAL("external") {
+        @Override
+        public SolveResult search(Configuration start, SolveOptions options) {
+            return new ExternalBFS().search(start, options);
+        }
+    };
+
+    private final String name;
+
+    SolverStrategy(String name) {
+        this.name = name;
+    }
+
+    /** Get the name used to choose the strategy
+     * @return the name of the strategy
+     */
+    public String getName() {
+        return name;
+    }
+
+    /** Find a strategy by name
+     * @param name the name of the strategy
+     * @return the strategy, or null if there is no strategy with the name
+     */
+    public static SolverStrategy fromName(String name) {
+        for (SolverStrategy strategy : values()) {
+            if (strategy.name.equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+
+    /** List the names of every strategy
+     * @return the names separated by "|"
+     */
+    public static String names() {
+        StringBuilder build = new StringBuilder();
+        for (SolverStrategy strategy : values()) {
+            if (build.length() > 0)
+                build.append("|");
+            build.append(strategy.name);
+        }
+        return build.toString();
+    }
+}
@@ -136,6 +136,6 @@ public class Car {
      */
     @Override
     public int hashCode() {
-        return Arrays.hashCode(coordinates);
+        return 31 * carName.hashCode() + Arrays.hashCode(coordinates);
     }
 }
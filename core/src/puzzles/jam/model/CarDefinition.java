@@ -0,0 +1,86 @@
+package puzzles.jam.model;
+
+/**
+ * CarDefinition class
+ * The parts of a car that never change during a game: its name, length, orientation
+ * and the lane (row for horizontal cars, column for vertical cars) it slides along.
+ * A car's place in its lane is tracked separately by each JamConfig.
+ */
+public class CarDefinition {
+    private final String carName;
+    private final int length;
+    private final Car.ORIENTATION orientation;
+    private final int lane;
+
+    /** Initialize a car definition
+     * @param carName The car name
+     * @param length The number of cells the car covers
+     * @param orientation The orientation of the car
+     * @param lane The row of a horizontal car or the column of a vertical car
+     */
+    public CarDefinition(String carName, int length, Car.ORIENTATION orientation, int lane) {
+        this.carName = carName;
+        this.length = length;
+        this.orientation = orientation;
+        this.lane = lane;
+    }
+
+    /** Get the name of the car
+     * @return name of the car
+     */
+    public String getCarName() {
+        return carName;
+    }
+
+    /** Get the length of the car
+     * @return length of the car
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /** Get the orientation of the car
+     * @return orientation of the car
+     */
+    public Car.ORIENTATION getOrientation() {
+        return orientation;
+    }
+
+    /** Get the lane of the car
+     * @return the row of a horizontal car or the column of a vertical car
+     */
+    public int getLane() {
+        return lane;
+    }
+
+    /** Determine if the car is horizontal
+     * @return whether the car is horizontal
+     */
+    public boolean isHorizontal() {
+        return orientation == Car.ORIENTATION.HORIZONTAL;
+    }
+
+    /** Determine if the car covers a cell when it is at a position
+     * @param position The first cell of the car along its lane
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @return whether the car covers the cell
+     */
+    public boolean covers(int position, int row, int column) {
+        if (isHorizontal()) {
+            return row == lane && column >= position && column < position + length;
+        }
+        return column == lane && row >= position && row < position + length;
+    }
+
+    /** Build a full car at a position
+     * @param position The first cell of the car along its lane
+     * @return a car covering the cells of this definition at the position
+     */
+    public Car toCar(int position) {
+        if (isHorizontal()) {
+            return new Car(carName, lane, position, lane, position + length - 1);
+        }
+        return new Car(carName, position, lane, position + length - 1, lane);
+    }
+}
@@ -0,0 +1,674 @@
+package puzzles.jam.model;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.NeighborSink;
+import puzzles.common.solver.PackedNeighborSink;
+import puzzles.common.solver.ReversiblePackedConfiguration;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * JamConfig class for JamModel
+ * This is a representation of a particular state of a game.
+ * The cars themselves are shared by every config through a JamPuzzle, so a config
+ * only stores the position of each car along its lane. Full Car objects are
+ * built on request for the model, GUI and printer.
+ * When every position fits, a config can also be packed into a single long for PackedBFS.
+ * Every slide can be undone by sliding back, so a puzzle can also be searched backward
+ * from its goal arrangements.
+ * Each config also keeps a bitmask of the cells its cars cover, so checking a slide only
+ * tests the one cell the car would enter.
+ * The Zobrist hash of a config is kept up to date in the same way as the mask, so hashing
+ * a config never walks its cars.
+ */
+public class JamConfig implements ReversiblePackedConfiguration{
+    private final JamPuzzle puzzle; // board geometry and car definitions shared by all configs of the puzzle
+    private final byte[] positions; // first cell of each car along its lane
+    private long occupancy; // bit (row * columns + column) is set when a car covers the cell
+    private long[] wideOccupancy; // replaces occupancy on boards with more than 64 cells
+    private long hash; // Zobrist hash of the car positions, see JamPuzzle.zobristHash
+    private Car[] cars; // built on request
+    private final boolean reused; // true for the neighbor object forEachNeighbor hands out
+
+    /** Generate a jam config
+     * @param filename the file to make a jam config
+     * @throws FileNotFoundException Indicates the file was not found
+     */
+    public JamConfig(String filename) throws FileNotFoundException {
+        this(load(filename), false);
+    }
+
+    /** Copy constructor
+     * @param other the config to be copied
+     */
+    public JamConfig(JamConfig other){
+        this(other, false);
+    }
+
+    /** Create a config of a puzzle from car positions
+     * @param puzzle the puzzle the config belongs to
+     * @param positions the position of each car along its lane, owned by the new config
+     */
+    JamConfig(JamPuzzle puzzle, byte[] positions){
+        this(puzzle, positions, false);
+    }
+
+    /** Create a config of a puzzle from car positions
+     * @param puzzle the puzzle the config belongs to
+     * @param positions the position of each car along its lane, owned by the new config
+     * @param reused whether forEachNeighbor moves this config's cars between neighbors
+     */
+    private JamConfig(JamPuzzle puzzle, byte[] positions, boolean reused){
+        this.puzzle = puzzle;
+        this.positions = positions;
+        this.reused = reused;
+        this.hash = puzzle.zobristHash(positions);
+        fillOccupancy();
+    }
+
+    /** Copy the car positions and occupancy of another config
+     * @param other the config to be copied
+     * @param reused whether forEachNeighbor moves this config's cars between neighbors
+     */
+    private JamConfig(JamConfig other, boolean reused){
+        this.puzzle = other.puzzle;
+        this.positions = other.positions.clone();
+        this.occupancy = other.occupancy;
+        this.wideOccupancy = other.wideOccupancy == null ? null : other.wideOccupancy.clone();
+        this.hash = other.hash;
+        this.reused = reused;
+    }
+
+    /** Parse the puzzle in a file
+     * @param filename the puzzle file
+     * @return the start config of the puzzle
+     * @throws FileNotFoundException if the file does not exist or can not be read
+     */
+    private static JamConfig load(String filename) throws FileNotFoundException {
+        try{
+            return JamParser.parse(Path.of(filename));
+        } catch (IOException e){
+            FileNotFoundException notFound = new FileNotFoundException(filename);
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+
+    /** Set the occupancy bit of every cell covered by a car
+     */
+    private void fillOccupancy(){
+        int cells = puzzle.getDimensionX() * puzzle.getDimensionY();
+        if (cells > Long.SIZE) {
+            wideOccupancy = new long[(cells + Long.SIZE - 1) / Long.SIZE];
+        }
+        for (int i = 0; i < positions.length; i++) {
+            CarDefinition definition = puzzle.getDefinition(i);
+            for (int k = 0; k < definition.getLength(); k++) {
+                flip(cellOf(definition, positions[i] + k));
+            }
+        }
+    }
+
+    /** Get the puzzle this config belongs to
+     * @return the puzzle of the config
+     */
+    public JamPuzzle getPuzzle(){
+        return puzzle;
+    }
+
+    /** Get the position of a car along its lane
+     * @param index the index of the car
+     * @return the first cell the car covers along its lane
+     */
+    public int getPosition(int index){
+        return positions[index];
+    }
+
+    /** Get a specific car from the cars collection
+     * @param name the name of the car
+     * @return the car specified
+     */
+    public Car getCar(String name){
+        int index = puzzle.indexOf(name);
+        return index == -1 ? null : getCars()[index];
+    }
+
+    public Car getCarX(){
+        return getCars()[puzzle.getCarXIndex()];
+    }
+
+    /** Get all cars in a config
+     * @return all cars in the config
+     */
+    public Car[] getCars(){
+        if (cars == null) {
+            Car[] built = new Car[positions.length];
+            for (int i = 0; i < built.length; i++) {
+                built[i] = puzzle.getDefinition(i).toCar(positions[i]);
+            }
+            cars = built;
+        }
+        return cars;
+    }
+
+    /** Determine if car "carX" has reached the last column
+     * @return whether car "carX" has reached the last column
+     */
+    @Override
+    public boolean isSolution() {
+        int xIndex = puzzle.getCarXIndex();
+        CarDefinition carX = puzzle.getDefinition(xIndex);
+        if (carX.isHorizontal()) {
+            return positions[xIndex] + carX.getLength() - 1 == puzzle.getDimensionY() - 1;
+        }
+        return carX.getLane() == puzzle.getDimensionY() - 1;
+    }
+
+    /** Return neighbors of the current configuration
+     * @return neighbors of the current configuration
+     */
+    @Override
+    public Configuration[] getNeighbors() {
+        ArrayList<Configuration> neighbors = new ArrayList<>();
+        // for each car, make a config for moving forward and backward
+        for(int i = 0; i < positions.length; i++){
+            int forward = forwardStep(i);
+            if (canMove(i, forward)) {
+                neighbors.add(moved(i, forward));
+            }
+            if (canMove(i, -forward)) {
+                neighbors.add(moved(i, -forward));
+            }
+        }
+        return neighbors.toArray(new Configuration[0]);
+    }
+
+    /** Pass each neighbor to a sink. A single config is reused for every neighbor: a car is
+     * slid, the config is passed on, and the car is slid back.
+     * @param sink receives each neighbor, with the move (car index * 2, plus 1 for a backward move)
+     */
+    @Override
+    public void forEachNeighbor(NeighborSink sink) {
+        JamConfig neighbor = new JamConfig(this, true);
+        for(int i = 0; i < positions.length; i++){
+            int forward = forwardStep(i);
+            for (int direction = 0; direction < 2; direction++) {
+                int step = direction == 0 ? forward : -forward;
+                if (canMove(i, step)) {
+                    neighbor.slide(i, step);
+                    neighbor.cars = null;
+                    sink.accept(i * 2 + direction, neighbor);
+                    neighbor.slide(i, -step);
+                }
+            }
+        }
+    }
+
+    /** Get a config that can be kept after a NeighborSink returns
+     * @return this config, or a copy if this is the config reused by forEachNeighbor
+     */
+    @Override
+    public JamConfig detach() {
+        return reused ? new JamConfig(this, false) : this;
+    }
+
+    /** Estimate the moves left: car "carX" must slide to the last column, and every car
+     * in front of it in its row must move out of the way at least once
+     * @return a lower bound on the moves to a solution
+     */
+    @Override
+    public int estimateDistance() {
+        int xIndex = puzzle.getCarXIndex();
+        CarDefinition carX = puzzle.getDefinition(xIndex);
+        if (!carX.isHorizontal() || isSolution())
+            return 0;
+        int end = positions[xIndex] + carX.getLength() - 1;
+        int estimate = puzzle.getDimensionY() - 1 - end;
+        for (int i = 0; i < positions.length; i++) {
+            CarDefinition definition = puzzle.getDefinition(i);
+            if (i == xIndex)
+                continue;
+            // a vertical car covers one cell of the row, a horizontal car in the row is ahead of carX
+            if (definition.isHorizontal() ? definition.getLane() == carX.getLane() && positions[i] > end
+                    : positions[i] <= carX.getLane() && carX.getLane() < positions[i] + definition.getLength() && definition.getLane() > end)
+                estimate++;
+        }
+        return estimate;
+    }
+
+    /** Determine if the position of every car fits in a long
+     * @return whether configs of this puzzle can be packed
+     */
+    @Override
+    public boolean canPack() {
+        return bitsPerCar() * positions.length <= Long.SIZE;
+    }
+
+    /** Pack the position of every car into a long
+     * @return the packed state of the config
+     */
+    @Override
+    public long pack() {
+        int bits = bitsPerCar();
+        long state = 0;
+        for (int i = 0; i < positions.length; i++) {
+            state |= (long) positions[i] << (i * bits);
+        }
+        return state;
+    }
+
+    /** Build the config of a packed state
+     * @param state a packed state of this puzzle
+     * @return the config the state encodes
+     */
+    @Override
+    public JamConfig unpack(long state) {
+        return new JamConfig(puzzle, unpackPositions(state));
+    }
+
+    /** Determine if car "carX" has reached the last column in a packed state
+     * @param state a packed state of this puzzle
+     * @return whether car "carX" has reached the last column
+     */
+    @Override
+    public boolean isSolution(long state) {
+        int xIndex = puzzle.getCarXIndex();
+        CarDefinition carX = puzzle.getDefinition(xIndex);
+        if (carX.isHorizontal()) {
+            int bits = bitsPerCar();
+            long position = (state >>> (xIndex * bits)) & ((1L << bits) - 1);
+            return position + carX.getLength() - 1 == puzzle.getDimensionY() - 1;
+        }
+        return carX.getLane() == puzzle.getDimensionY() - 1;
+    }
+
+    /** Pass each neighbor of a packed state to a sink. The occupancy mask is built
+     * straight from the packed positions, so no config is created on boards of up to 64 cells.
+     * @param state a packed state of this puzzle
+     * @param sink receives each move (car index * 2, plus 1 for a backward move) and the packed state it reaches
+     */
+    @Override
+    public void forEachNeighbor(long state, PackedNeighborSink sink) {
+        int bits = bitsPerCar();
+        long fieldMask = (1L << bits) - 1;
+        long[] wide = wideOccupancy == null ? null : new long[wideOccupancy.length];
+        long occupied = packedOccupancy(state, wide);
+        for (int i = 0; i < positions.length; i++) {
+            int position = (int) ((state >>> (i * bits)) & fieldMask);
+            int forward = forwardStep(i);
+            // a legal move keeps the position in range, so it can be added to its field directly
+            if (canMove(i, position, forward, occupied, wide)) {
+                sink.accept(i * 2, state + ((long) forward << (i * bits)));
+            }
+            if (canMove(i, position, -forward, occupied, wide)) {
+                sink.accept(i * 2 + 1, state - ((long) forward << (i * bits)));
+            }
+        }
+    }
+
+    /** Slide the car of a move in a packed state
+     * @param state a packed state of this puzzle
+     * @param move a legal move (car index * 2, plus 1 for a backward move)
+     * @return the packed state after the move
+     */
+    @Override
+    public long applyMove(long state, int move) {
+        int index = move / 2;
+        long step = move % 2 == 0 ? forwardStep(index) : -forwardStep(index);
+        return state + (step << (index * bitsPerCar()));
+    }
+
+    /** Build the occupancy mask of a packed state
+     * @param state a packed state of this puzzle
+     * @param wide the mask to fill on boards with more than 64 cells, zeroed, or null on smaller boards
+     * @return the mask on boards of up to 64 cells, 0 on larger boards
+     */
+    private long packedOccupancy(long state, long[] wide) {
+        int bits = bitsPerCar();
+        long fieldMask = (1L << bits) - 1;
+        long occupied = 0;
+        for (int i = 0; i < positions.length; i++) {
+            CarDefinition definition = puzzle.getDefinition(i);
+            int position = (int) ((state >>> (i * bits)) & fieldMask);
+            for (int k = 0; k < definition.getLength(); k++) {
+                int cell = cellOf(definition, position + k);
+                if (wide == null)
+                    occupied |= 1L << cell;
+                else
+                    wide[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return occupied;
+    }
+
+    /** Get the number of bits each car's position takes in a packed state
+     * @return the number of bits per car
+     */
+    private int bitsPerCar() {
+        return puzzle.getBitsPerCar();
+    }
+
+    /** Read the position of every car from a packed state
+     * @param state a packed state of this puzzle
+     * @return the position of each car
+     */
+    private byte[] unpackPositions(long state) {
+        int bits = bitsPerCar();
+        long mask = (1L << bits) - 1;
+        byte[] unpacked = new byte[positions.length];
+        for (int i = 0; i < unpacked.length; i++) {
+            unpacked[i] = (byte) ((state >>> (i * bits)) & mask);
+        }
+        return unpacked;
+    }
+
+    /** Move a car one cell forward
+     * @param name the name of the car to move
+     * @return the config after the move, or null if the car can not move forward
+     */
+    public JamConfig moveForward(String name){
+        int index = puzzle.indexOf(name);
+        int forward = forwardStep(index);
+        return canMove(index, forward) ? moved(index, forward) : null;
+    }
+
+    /** Move a car one cell backward
+     * @param name the name of the car to move
+     * @return the config after the move, or null if the car can not move backward
+     */
+    public JamConfig moveBackward(String name){
+        int index = puzzle.indexOf(name);
+        int backward = -forwardStep(index);
+        return canMove(index, backward) ? moved(index, backward) : null;
+    }
+
+    /** Get the move that turns this config into another
+     * @param next a config one slide away from this one
+     * @return the move (car index * 2, plus 1 for a backward move) as passed by forEachNeighbor,
+     * or -1 if no single slide turns this config into next
+     */
+    @Override
+    public int moveTo(Configuration next){
+        if (!(next instanceof JamConfig) || ((JamConfig) next).puzzle != puzzle)
+            return -1;
+        byte[] nextPositions = ((JamConfig) next).positions;
+        int move = -1;
+        for (int i = 0; i < positions.length; i++) {
+            int step = nextPositions[i] - positions[i];
+            if (step == 0)
+                continue;
+            if (move != -1 || Math.abs(step) != 1)
+                return -1;
+            move = i * 2 + (step == forwardStep(i) ? 0 : 1);
+        }
+        return move;
+    }
+
+    /** Slide the car of a move, checking the cell it enters against the occupancy mask
+     * @param move the move (car index * 2, plus 1 for a backward move) as passed by forEachNeighbor
+     * @return the config after the move, or null if the car can not slide that way
+     */
+    @Override
+    public JamConfig applyMove(int move){
+        if (move < 0 || move >= positions.length * 2)
+            return null;
+        int index = move / 2;
+        int step = move % 2 == 0 ? forwardStep(index) : -forwardStep(index);
+        return canMove(index, step) ? moved(index, step) : null;
+    }
+
+    /** Get the move that slides the same car back
+     * @param move the move (car index * 2, plus 1 for a backward move) as passed by forEachNeighbor
+     * @return the move in the other direction
+     */
+    @Override
+    public int inverseMove(int move){
+        return move ^ 1;
+    }
+
+    /** Name a move by its car and direction, such as "Xf" for car X moving forward
+     * @param move the move (car index * 2, plus 1 for a backward move) as passed by forEachNeighbor
+     * @return the car name followed by f for a forward move or b for a backward move
+     */
+    public String moveName(int move){
+        return puzzle.getDefinition(move / 2).getCarName() + (move % 2 == 0 ? "f" : "b");
+    }
+
+    /** Get the change in position of a car moving forward, matching Car.moveForward
+     * @param index the index of the car
+     * @return the change in position of a forward move
+     */
+    private int forwardStep(int index){
+        return puzzle.getDefinition(index).isHorizontal() ? 1 : -1;
+    }
+
+    /** Determine if a car can slide one cell along its lane
+     * @param index the index of the car
+     * @param step 1 to slide towards higher coordinates, -1 towards lower coordinates
+     * @return whether the cell the car would enter is on the board and empty
+     */
+    private boolean canMove(int index, int step){
+        return canMove(index, positions[index], step, occupancy, wideOccupancy);
+    }
+
+    /** Determine if a car can slide one cell along its lane, given an occupancy mask
+     * @param index the index of the car
+     * @param position the position of the car along its lane
+     * @param step 1 to slide towards higher coordinates, -1 towards lower coordinates
+     * @param occupied the occupancy mask on boards of up to 64 cells
+     * @param wide the occupancy mask on larger boards, null on smaller boards
+     * @return whether the cell the car would enter is on the board and empty
+     */
+    private boolean canMove(int index, int position, int step, long occupied, long[] wide){
+        CarDefinition definition = puzzle.getDefinition(index);
+        int entered = step > 0 ? position + definition.getLength() : position - 1;
+        int laneSize = definition.isHorizontal() ? puzzle.getDimensionY() : puzzle.getDimensionX();
+        if (entered < 0 || entered >= laneSize)
+            return false;
+        int cell = cellOf(definition, entered);
+        if (wide == null)
+            return (occupied & (1L << cell)) == 0;
+        return (wide[cell >>> 6] & (1L << cell)) == 0;
+    }
+
+    /** Create the config of a car slid one cell along its lane
+     * @param index the index of the car
+     * @param step the change in position of the car
+     * @return the config after the move
+     */
+    private JamConfig moved(int index, int step){
+        JamConfig next = new JamConfig(this, false);
+        next.slide(index, step);
+        return next;
+    }
+
+    /** Slide a car one cell along its lane, clearing the cell it leaves and setting the
+     * cell it enters in the occupancy mask, and swapping its key in the hash
+     * @param index the index of the car
+     * @param step the change in position of the car
+     */
+    private void slide(int index, int step){
+        CarDefinition definition = puzzle.getDefinition(index);
+        int position = positions[index];
+        flip(cellOf(definition, step > 0 ? position : position + definition.getLength() - 1));
+        flip(cellOf(definition, step > 0 ? position + definition.getLength() : position - 1));
+        positions[index] += step;
+        hash ^= puzzle.zobristKey(index, position) ^ puzzle.zobristKey(index, position + step);
+    }
+
+    /** Get the index of a cell in the occupancy mask
+     * @param definition the car whose lane the cell is in
+     * @param position the position of the cell along the lane
+     * @return the bit of the cell
+     */
+    private int cellOf(CarDefinition definition, int position){
+        if (definition.isHorizontal())
+            return definition.getLane() * puzzle.getDimensionY() + position;
+        return position * puzzle.getDimensionY() + definition.getLane();
+    }
+
+    /** Toggle the occupancy bit of a cell
+     * @param cell the bit of the cell
+     */
+    private void flip(int cell){
+        if (wideOccupancy == null)
+            occupancy ^= 1L << cell;
+        else
+            wideOccupancy[cell >>> 6] ^= 1L << cell;
+    }
+
+    /** Determine if a car covers a cell
+     * @param cell the bit of the cell
+     * @return whether the cell is occupied
+     */
+    private boolean isOccupied(int cell){
+        if (wideOccupancy == null)
+            return (occupancy & (1L << cell)) != 0;
+        return (wideOccupancy[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /** Determine if a car covers a cell
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return whether the cell is occupied
+     */
+    public boolean isOccupied(int row, int column){
+        return isOccupied(row * puzzle.getDimensionY() + column);
+    }
+
+    /** Get the car covering a cell
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the index of the car covering the cell, or -1 if the cell is empty
+     */
+    public int occupant(int row, int column){
+        if (!isOccupied(row, column))
+            return -1;
+        for (int i = 0; i < positions.length; i++) {
+            if (puzzle.getDefinition(i).covers(positions[i], row, column))
+                return i;
+        }
+        return -1;
+    }
+
+    /** Get the car covering every cell, filled in one pass over the cars
+     * @return the index of the car covering each cell, or -1 if it is empty, indexed by row * columns + column
+     */
+    public int[] occupants(){
+        int[] occupants = new int[puzzle.getDimensionX() * puzzle.getDimensionY()];
+        Arrays.fill(occupants, -1);
+        for (int i = 0; i < positions.length; i++) {
+            CarDefinition definition = puzzle.getDefinition(i);
+            for (int k = 0; k < definition.getLength(); k++)
+                occupants[cellOf(definition, positions[i] + k)] = i;
+        }
+        return occupants;
+    }
+
+    /** Determine if a car has reached out of bounds
+     * @param car the car whose coordinates to check
+     * @return Whether a car is out of bounds
+     */
+    public boolean isOutOfBounds(Car car){
+        int[] coords = car.getCoordinates();
+        for(int i = 0; i < coords.length; i += 2){
+            if (!isOnBoard(coords[i], coords[i + 1]))
+                return true;
+        }
+        return false;
+    }
+
+    /** Determine if a car is in conflict with any of the rest
+     * @param car the car to check conflict with
+     * @return Whether the car is in conflict with the rest
+     */
+    public boolean isConflict(Car car){
+        int[] coords = car.getCoordinates();
+        // only occupied cells need the car covering them looked up
+        for (int i = 0; i < coords.length; i += 2) {
+            if (!isOnBoard(coords[i], coords[i + 1]) || !isOccupied(coords[i], coords[i + 1]))
+                continue;
+            int index = occupant(coords[i], coords[i + 1]);
+            if (!puzzle.getDefinition(index).getCarName().equals(car.getCarName()))
+                return true;
+        }
+        return false;
+    }
+
+    /** Determine if a cell is on the board
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return whether the cell is on the board
+     */
+    private boolean isOnBoard(int row, int column){
+        return row >= 0 && row < puzzle.getDimensionX() && column >= 0 && column < puzzle.getDimensionY();
+    }
+
+    /** Generate a grid representing the configuration
+     * @return A grid of the configuration
+     */
+    @Override
+    public String toString() {
+        StringBuilder build = new StringBuilder();
+        int dimensionX = puzzle.getDimensionX(), dimensionY = puzzle.getDimensionY();
+        build.append("\t");
+        for(int i = 0; i < dimensionY; i++){
+            build.append(i).append(" ");
+        }
+        build.append("\n\t");
+        build.append("-".repeat(Math.max(0, dimensionY * 2)));
+        build.append("\n");
+        for(int i = 0; i < dimensionX; i++){
+            build.append(i).append("|\t");
+            for(int j = 0; j < dimensionY; j++){
+                int index = occupant(i, j);
+                build.append(index == -1 ? "." : puzzle.getDefinition(index).getCarName());
+                if (j!= dimensionY - 1)
+                    build.append(" ");
+            }
+            build.append("\n");
+        }
+        return build.toString();
+    }
+
+    /** Get the carX dimension of the configuration
+     * @return the carX dimension of the configuration
+     */
+    public int getDimensionX(){
+        return puzzle.getDimensionX();
+    }
+
+    /** Get the Y dimension of the configuration
+     * @return the Y dimension of the configuration
+     */
+    public int getDimensionY(){
+        return puzzle.getDimensionY();
+    }
+
+    /** Hash code function of JamConfig
+     * @return hash code of a JamConfig, folded from its Zobrist hash
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /** Determine equality of a JamConfig to another object.
+     * Car names are part of the state, but no search reaches two configs that differ only
+     * by swapping the names of matching cars: a car never leaves its lane, and cars sharing
+     * a lane can never pass each other, so every car keeps its place among its look-alikes.
+     * @param obj the object to be compared to
+     * @return Whether a JamConfig's car positions are equal to the object compared
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj instanceof JamConfig) {
+            JamConfig temp = (JamConfig) obj;
+            // configs with different hashes can not be equal, so the positions are rarely compared
+            return hash == temp.hash && puzzle == temp.puzzle && Arrays.equals(positions, temp.positions);
+        } else {
+            return false;
+        }
+    }
+}
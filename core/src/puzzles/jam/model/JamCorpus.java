@@ -0,0 +1,274 @@
+package puzzles.jam.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * JamCorpus class
+ * A binary file of many puzzles, read through a memory map. Each puzzle is a record of
+ * single bytes: its name, the board size and car count, then the name, length, orientation,
+ * lane and start position of each car. An index of record offsets at the end of the file
+ * lets any puzzle be decoded by its number without reading the ones before it.
+ * Layout, big endian:
+ * header: magic "JAMC", version, puzzle count, index offset (int each)
+ * record: name length (short), name, rows, columns, car count, then per car:
+ *         name length, name, length, orientation (0 horizontal, 1 vertical), lane, position
+ * index:  the offset of every record (int each)
+ */
+public class JamCorpus implements Iterable<JamConfig> {
+    private static final int MAGIC = 0x4A414D43; // "JAMC"
+    private static final int VERSION = 1;
+    // magic, version, count and index offset
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4;
+    private final ByteBuffer corpus;
+    private final int count;
+    private final int indexOffset;
+
+    /** Wrap a mapped corpus file
+     * @param corpus the mapped contents of the file
+     */
+    private JamCorpus(ByteBuffer corpus) {
+        this.corpus = corpus;
+        count = corpus.getInt(8);
+        indexOffset = corpus.getInt(12);
+    }
+
+    /** Map a corpus file
+     * @param file the file to open
+     * @return the corpus
+     * @throws IOException if the file can not be read or is not a corpus of this version
+     */
+    public static JamCorpus open(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            if(channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE){
+                throw new IOException(file + " is not a Jam corpus");
+            }
+            ByteBuffer corpus = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(corpus.getInt(0) != MAGIC){
+                throw new IOException(file + " is not a Jam corpus");
+            }
+            if(corpus.getInt(4) != VERSION){
+                throw new IOException(file + " is corpus version " + corpus.getInt(4) + ", expected " + VERSION);
+            }
+            return new JamCorpus(corpus);
+        }
+    }
+
+    /** Determine if a file starts like a corpus, so it can be told apart from a text file
+     * @param file the file to check
+     * @return whether the file starts with the corpus magic number
+     * @throws IOException if the file can not be read
+     */
+    public static boolean isCorpus(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while(magic.hasRemaining() && channel.read(magic) >= 0){
+                // keep reading until the magic number is in the buffer
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /** Get the number of puzzles in the corpus
+     * @return the number of puzzles
+     */
+    public int size() {
+        return count;
+    }
+
+    /** Get the name of a puzzle
+     * @param index the number of the puzzle
+     * @return the name the puzzle was stored with
+     */
+    public String getName(int index) {
+        int offset = recordOffset(index);
+        return string(offset + 2, corpus.getShort(offset) & 0xFFFF);
+    }
+
+    /** Find a puzzle by name
+     * @param name the name the puzzle was stored with
+     * @return the number of the first puzzle with the name, or -1 if there is none
+     */
+    public int indexOf(String name) {
+        for(int i = 0; i < count; i++){
+            if(getName(i).equals(name)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Decode a puzzle
+     * @param index the number of the puzzle
+     * @return the start config of the puzzle
+     */
+    public JamConfig get(int index) {
+        int offset = recordOffset(index);
+        offset += 2 + (corpus.getShort(offset) & 0xFFFF);
+        int dimensionX = corpus.get(offset++) & 0xFF;
+        int dimensionY = corpus.get(offset++) & 0xFF;
+        int numCars = corpus.get(offset++) & 0xFF;
+        CarDefinition[] definitions = new CarDefinition[numCars];
+        byte[] positions = new byte[numCars];
+        for(int i = 0; i < numCars; i++){
+            int nameLength = corpus.get(offset++) & 0xFF;
+            String name = string(offset, nameLength);
+            offset += nameLength;
+            int length = corpus.get(offset++) & 0xFF;
+            Car.ORIENTATION orientation = corpus.get(offset++) == 0 ? Car.ORIENTATION.HORIZONTAL : Car.ORIENTATION.VERTICAL;
+            int lane = corpus.get(offset++) & 0xFF;
+            definitions[i] = new CarDefinition(name, length, orientation, lane);
+            positions[i] = corpus.get(offset++);
+        }
+        return new JamConfig(new JamPuzzle(dimensionX, dimensionY, definitions), positions);
+    }
+
+    /** Decode every puzzle in order, each one when it is reached
+     * @return the start config of every puzzle
+     */
+    public Stream<JamConfig> stream() {
+        return IntStream.range(0, count).mapToObj(this::get);
+    }
+
+    /** Decode every puzzle in order, each one when it is reached
+     * @return the start config of every puzzle
+     */
+    @Override
+    public Iterator<JamConfig> iterator() {
+        return stream().iterator();
+    }
+
+    /** Get the position of a record in the file
+     * @param index the number of the puzzle
+     * @return the byte offset of the record
+     */
+    private int recordOffset(int index) {
+        if(index < 0 || index >= count){
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + count);
+        }
+        return corpus.getInt(indexOffset + index * Integer.BYTES);
+    }
+
+    /** Decode a string stored in the corpus
+     * @param offset the byte offset of the string
+     * @param length the number of bytes of the string
+     * @return the string
+     */
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        corpus.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writer class
+     * Writes puzzles to a new corpus file one at a time, so a corpus can be built from
+     * more puzzles than fit in memory. The index is written when the writer is closed.
+     */
+    public static class Writer implements Closeable {
+        private final Path file;
+        private final DataOutputStream out;
+        private int[] offsets = new int[1024];
+        private int count;
+
+        /** Start a corpus file, replacing any file already there
+         * @param file the file to write
+         * @throws IOException if the file can not be written
+         */
+        public Writer(Path file) throws IOException {
+            this.file = file;
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            // the count and index offset are filled in by close
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+
+        /** Add a puzzle to the corpus
+         * @param name the name to store the puzzle with, such as the file it came from
+         * @param config the start config of the puzzle
+         * @throws IOException if the file can not be written
+         * @throws IllegalArgumentException if the puzzle does not fit the format
+         */
+        public void add(String name, JamConfig config) throws IOException {
+            JamPuzzle puzzle = config.getPuzzle();
+            byte[] puzzleName = name.getBytes(StandardCharsets.UTF_8);
+            checkFits(puzzleName.length, 0xFFFF, "name length");
+            checkFits(puzzle.getDimensionX(), 0xFF, "rows");
+            checkFits(puzzle.getDimensionY(), 0xFF, "columns");
+            checkFits(puzzle.getNumCars(), 0xFF, "cars");
+            // check every car before writing, so a puzzle that does not fit leaves no partial record
+            byte[][] carNames = new byte[puzzle.getNumCars()][];
+            for(int i = 0; i < carNames.length; i++){
+                carNames[i] = puzzle.getDefinition(i).getCarName().getBytes(StandardCharsets.UTF_8);
+                checkFits(carNames[i].length, 0xFF, "car name length");
+            }
+            if(out.size() == Integer.MAX_VALUE){
+                throw new IOException("Corpus is larger than 2GB");
+            }
+            if(count == offsets.length){
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = out.size();
+            out.writeShort(puzzleName.length);
+            out.write(puzzleName);
+            out.writeByte(puzzle.getDimensionX());
+            out.writeByte(puzzle.getDimensionY());
+            out.writeByte(puzzle.getNumCars());
+            for(int i = 0; i < puzzle.getNumCars(); i++){
+                CarDefinition definition = puzzle.getDefinition(i);
+                out.writeByte(carNames[i].length);
+                out.write(carNames[i]);
+                out.writeByte(definition.getLength());
+                out.writeByte(definition.isHorizontal() ? 0 : 1);
+                out.writeByte(definition.getLane());
+                out.writeByte(config.getPosition(i));
+            }
+        }
+
+        /** Write the index and header and close the file
+         * @throws IOException if the file can not be written
+         */
+        @Override
+        public void close() throws IOException {
+            int indexOffset = out.size();
+            for(int i = 0; i < count; i++){
+                out.writeInt(offsets[i]);
+            }
+            if(out.size() == Integer.MAX_VALUE){
+                throw new IOException("Corpus is larger than 2GB");
+            }
+            out.close();
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)){
+                ByteBuffer header = ByteBuffer.allocate(8).putInt(count).putInt(indexOffset).flip();
+                while(header.hasRemaining()){
+                    channel.write(header, 8 + header.position());
+                }
+            }
+        }
+
+        /** Check that a value fits its field
+         * @param value the value to store
+         * @param max the largest value of the field
+         * @param field the name of the field, for the error message
+         */
+        private static void checkFits(int value, int max, String field) {
+            if(value > max){
+                throw new IllegalArgumentException("Too large for a corpus: " + field + " " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package puzzles.jam.model;
+import puzzles.common.Observer;
+import puzzles.common.solver.CancellationToken;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.DistanceDatabase;
+import puzzles.common.solver.IncrementalSolver;
+import puzzles.common.solver.SolveOptions;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.SolveStats;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Model of the GUI and PTUI
+ * @author Daniel Tregea
+ * @author RIT CS
+ */
+public class JamModel {
+    /** the most a hint may search before giving up, so a hard puzzle can not hang the game */
+    public static final SolveOptions HINT_BUDGET = SolveOptions.UNLIMITED
+            .withMaxVisited(2_000_000)
+            .withTimeout(Duration.ofSeconds(10));
+    /** how often a running hint reports its progress */
+    private static final Duration HINT_PROGRESS = Duration.ofMillis(250);
+    /** the collection of observers of this model */
+    private final List<Observer<JamModel, JamClientData>> observers = new LinkedList<>();
+
+    /** the current configuration */
+    private JamConfig currentConfig;
+    /** the configuration the loaded puzzle starts in, restored by reset so remembered hints still match */
+    private JamConfig startConfig;
+    private String resetFile = null;
+    /** precomputed distances of the loaded puzzle, null if none were built */
+    private DistanceDatabase distances;
+    /** solution paths found by earlier hints on the loaded puzzle */
+    private final IncrementalSolver hints;
+    /** searches hints one at a time, so processMove never waits for a search */
+    private final ExecutorService hintThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jam-hint");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** the thread observers are alerted on when a hint reports progress or finishes */
+    private final Executor observerThread;
+    /** cancels the hint being searched, null if there is none */
+    private CancellationToken pendingHint;
+    private boolean gameEnd = false, gameSolved = false;
+
+    public JamModel(String filename) throws FileNotFoundException {
+        this(filename, SolverStrategy.PACKED);
+    }
+
+    /** Create a model whose hints are found with a chosen solver
+     * @param filename the puzzle file to load
+     * @param solver the solver used for hints
+     * @throws FileNotFoundException Indicates the file was not found
+     */
+    public JamModel(String filename, Solver solver) throws FileNotFoundException {
+        this(filename, solver, Runnable::run);
+    }
+
+    /** Create a model whose hints are found with a chosen solver and reported on a chosen thread
+     * @param filename the puzzle file to load
+     * @param solver the solver used for hints
+     * @param observerThread runs the observer alerts of hints, such as the UI thread of a GUI
+     * @throws FileNotFoundException Indicates the file was not found
+     */
+    public JamModel(String filename, Solver solver, Executor observerThread) throws FileNotFoundException {
+        hints = new IncrementalSolver(solver);
+        this.observerThread = observerThread;
+        if(resetFile == null)
+            resetFile = filename;
+        startConfig = new JamConfig(filename);
+        currentConfig = startConfig;
+        loadDistances(filename);
+        JamClientData data = new JamClientData("Loaded: " + filename);
+        alertObservers(data);
+    }
+    /**
+     * The view calls this to add itself as an observer.
+     *
+     * @param observer the view
+     */
+    public void addObserver(Observer<JamModel, JamClientData> observer) {
+        this.observers.add(observer);
+    }
+
+    /**
+     * The model's state has changed (the counter), so inform the view via
+     * the update method
+     */
+    private void alertObservers(JamClientData data) {
+        for (var observer : observers) {
+            observer.update(this, data);
+        }
+    }
+
+    /** Verify the validity of a command
+     * @param move The command string
+     * @return the validity of the command
+     */
+    public boolean isValidMove(String move){
+        String[] args = move.trim().split(" ");
+        switch (args[0]) {
+            case "h":
+            case "q":
+            case "r":
+                return true;
+            case "l":
+                if (args.length == 2)
+                    return true;
+                break;
+            case "s":
+                if (args.length == 4) {
+                    try {
+                        if (getCar(args[1]) == null)
+                            throw new Exception("Car Selected Does Not Exist!");
+                        int rowSelect, colSelect;
+                        rowSelect = Integer.parseInt(args[2]);
+                        colSelect = Integer.parseInt(args[3]);
+                        if (rowSelect < 0 || colSelect < 0 || rowSelect >= getDIMX() || colSelect >= getDIMY())
+                            throw new Exception("Coordinates Out Of Bounds!");
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid Coordinate Type Input");
+                        return false;
+                    } catch (Exception e) {
+                        System.out.println(e.getMessage());
+                        return false;
+                    }
+                    return true;
+                }
+                break;
+        }
+        return false;
+    }
+
+    /** Execute a command. A hint is searched on another thread, and its result is applied
+     * and reported on the observer thread; moving, resetting or loading cancels it.
+     * @param move The command to be executed
+     */
+    public synchronized void processMove(String move){
+        String[] args = move.trim().split(" ");
+        JamClientData message = new JamClientData("");
+        switch(args[0]){
+            // Get hint
+            case "h":
+                if(gameSolved){
+                    alertObservers(new JamClientData("Already Solved"));
+                    return;
+                }
+                // Step towards a smaller precomputed distance if the puzzle has a database
+                JamConfig next = distanceHint();
+                if(next != null){
+                    currentConfig = next;
+                    message = new JamClientData("Next Move Found");
+                    break;
+                }
+                if(pendingHint != null){
+                    alertObservers(new JamClientData("Still Generating Next Move"));
+                    return;
+                }
+                alertObservers(new JamClientData("Generating next move (Please Wait)"));
+                startHint();
+                return;
+            // Load a file
+            case "l":
+                cancelHint();
+                try{
+                    String filename = "data/jam/" + args[1];
+                    JamConfig loaded = new JamConfig(filename);
+                    resetFile = filename;
+                    startConfig = loaded;
+                    currentConfig = loaded;
+                    loadDistances(filename);
+                    // queued behind any cancelled search, which may still be using the paths
+                    hintThread.execute(hints::clear);
+                    gameSolved = false;
+                    alertObservers(new JamClientData(args[1] + " Loaded!"));
+                } catch (FileNotFoundException e){
+                    alertObservers(new JamClientData("File Not Found!"));
+                }
+                return;
+            // select a car to move
+            case "s":
+                if(gameSolved){
+                    alertObservers(new JamClientData("Already Solved"));
+                    return;
+                }
+                cancelHint();
+                Car carMoved = currentConfig.getCar(args[1].toUpperCase());
+                int[] coords = carMoved.getCoordinates();
+                message = new JamClientData("");
+                String command = "";
+                int rowSelect = Integer.parseInt(args[2]), colSelect = Integer.parseInt(args[3]);
+                // If the car is horizontal
+                if(carMoved.getOrientation() == Car.ORIENTATION.HORIZONTAL){
+                    if(rowSelect == coords[0]){ // if valid row selected
+                        if (colSelect < coords[1]){ // if spot chosen behind car
+                            command = "b";
+                        } else if (colSelect > coords[coords.length - 1]){ // if spot chosen ahead of car
+                            command = "f";
+                        } else{ // if spot chosen on car
+                            message = new JamClientData("You're Already There!");
+                        }
+
+                    } else{
+                        message = new JamClientData("Invalid Row!");
+                    }
+                // If the car is vertical
+                }else{
+                    if(colSelect == coords[1]){ // if valid column is selected
+                        if (rowSelect < coords[0]){
+                            command = "f";
+                        } else if (rowSelect > coords[coords.length - 2]){
+                            command = "b";
+                        } else{
+                            message = new JamClientData("You're Already There!");
+                        }
+                    } else{
+                        message = new JamClientData("Invalid Column!");
+                    }
+                }
+                // Move the car until it makes an invalid move
+                if (carMoved.getOrientation() == Car.ORIENTATION.HORIZONTAL) {
+                    while ((colSelect != coords[1] && colSelect != coords[coords.length - 1])) {
+                        if (moveCar(carMoved.getCarName(), command)) break;
+                        coords = currentConfig.getCar(carMoved.getCarName()).getCoordinates();
+                    }
+                } else {
+                    while(rowSelect != coords[0] && rowSelect != coords[coords.length - 2]){
+                        if (moveCar(carMoved.getCarName(), command)) break;
+                        coords = currentConfig.getCar(carMoved.getCarName()).getCoordinates();
+                    }
+                }
+                break;
+            // Reset the config
+            case "r":
+                cancelHint();
+                // configs of the same puzzle object, so the remembered hint paths still apply
+                currentConfig = startConfig;
+                message = new JamClientData("Game Reset!");
+                gameSolved = false;
+                break;
+            // End the game (PTUI use)
+            case "q":
+                cancelHint();
+                gameEnd = true;
+                break;
+        }
+        if(currentConfig.isSolution()) {
+            gameSolved = true;
+            message = new JamClientData("Game Solved!");
+        }
+        if (args[0].equals("q")){
+            message = new JamClientData("Game Ended!");
+        }
+        alertObservers(message);
+    }
+
+    /** Helper function of processMove to search for the next step of the current config.
+     * Reuses the paths of earlier hints, so this is only a full search the first time.
+     */
+    private void startHint(){
+        CancellationToken token = new CancellationToken();
+        pendingHint = token;
+        JamConfig start = currentConfig;
+        SolveOptions options = HINT_BUDGET.withCancellation(token).withProgress(stats -> {
+            String progress = progressMessage(stats);
+            observerThread.execute(() -> hintProgress(token, progress));
+        }, HINT_PROGRESS);
+        hintThread.execute(() -> {
+            SolveResult hint;
+            try{
+                hint = hints.search(start, options);
+            } catch (RuntimeException e){
+                hint = null;
+            }
+            SolveResult result = hint;
+            observerThread.execute(() -> finishHint(token, result));
+        });
+    }
+
+    /** Describe how far a running hint has searched
+     * @param stats the statistics of the search so far
+     * @return the depth reached and the rate states are found at
+     */
+    private static String progressMessage(SolveStats stats){
+        long rate = stats.getUnique() * 1_000_000_000L / Math.max(1, stats.getElapsedNanos());
+        return "Searching depth " + stats.getMaxDepth() + " (" + rate + " states/s)";
+    }
+
+    /** Alert observers of the progress of a hint, unless it has been cancelled
+     * @param token the token of the hint
+     * @param progress the description of the progress
+     */
+    private synchronized void hintProgress(CancellationToken token, String progress){
+        if(token == pendingHint)
+            alertObservers(new JamClientData(progress));
+    }
+
+    /** Take the next step found by a hint, unless it has been cancelled
+     * @param token the token of the hint
+     * @param hint the result of the search, null if the search failed
+     */
+    private synchronized void finishHint(CancellationToken token, SolveResult hint){
+        if(token != pendingHint)
+            return;
+        pendingHint = null;
+        JamClientData message;
+        if(hint == null){
+            message = new JamClientData("Hint Failed");
+        } else if(hint.isBudgetExhausted()){
+            message = new JamClientData("Hint Gave Up After " + hint.getStats().getUnique() + " States");
+        } else if(hint.isSolved() && hint.getMoveList().size() > 0){
+            // the hint was searched from the current config, so its first move can be made here
+            currentConfig = currentConfig.applyMove(hint.getMoveList().getMove(0));
+            message = new JamClientData("Next Move Found");
+            if(currentConfig.isSolution()){
+                gameSolved = true;
+                message = new JamClientData("Game Solved!");
+            }
+        } else{
+            message = new JamClientData("No Solution");
+        }
+        alertObservers(message);
+    }
+
+    /**
+     * Cancel the hint being searched, if there is one
+     */
+    private void cancelHint(){
+        if(pendingHint != null){
+            pendingHint.cancel();
+            pendingHint = null;
+        }
+    }
+
+    /** Get the path of the distance database of a puzzle file
+     * @param filename the puzzle file
+     * @return the database file next to the puzzle file
+     */
+    public static Path distanceFile(String filename){
+        return Path.of(filename.endsWith(".txt") ? filename.substring(0, filename.length() - 4) + ".dist" : filename + ".dist");
+    }
+
+    /** Map the distance database of a puzzle if one has been built
+     * @param filename the puzzle file
+     */
+    private void loadDistances(String filename){
+        try{
+            distances = DistanceDatabase.open(distanceFile(filename), currentConfig.getPuzzle().fingerprint());
+        } catch (IOException e){
+            distances = null;
+        }
+    }
+
+    /** Helper function of processMove to find a hint in the distance database
+     * @return a neighbor one move closer to a solution, or null if the database can not tell
+     */
+    private JamConfig distanceHint(){
+        if(distances == null || !currentConfig.canPack())
+            return null;
+        int distance = distances.distance(currentConfig.pack());
+        if(distance <= 0)
+            return null;
+        for(Configuration neighbor: currentConfig.getNeighbors()){
+            JamConfig config = (JamConfig) neighbor;
+            if(distances.distance(config.pack()) == distance - 1)
+                return config;
+        }
+        return null;
+    }
+
+    /** Helper function of processMove to move a car
+     * @param carName The name of the car to be moved
+     * @param command The command to be executed
+     * @return Whether the car made an invalid move
+     */
+    private boolean moveCar(String carName, String command) {
+        JamConfig next;
+        if (command.equals("f")) {
+            next = currentConfig.moveForward(carName);
+        } else if (command.equals("b")){
+            next = currentConfig.moveBackward(carName);
+        } else{
+            return true;
+        }
+        // The config checks the cell the car enters against its occupancy mask,
+        // and an invalid move leaves the config as it was
+        if (next == null){
+            return true;
+        }
+        currentConfig = next;
+        return false;
+    }
+
+    /** Get the name of the car covering a cell of the current config
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the name of the car, or null if the cell is empty
+     */
+    public String getOccupant(int row, int column){
+        int index = currentConfig.occupant(row, column);
+        return index == -1 ? null : currentConfig.getPuzzle().getDefinition(index).getCarName();
+    }
+
+    /** Get the name of the car covering every cell of the current config
+     * @return the name of the car covering each cell, or null if it is empty, indexed by row * getDIMY() + column
+     */
+    public String[] getOccupants(){
+        int[] occupants = currentConfig.occupants();
+        String[] names = new String[occupants.length];
+        for(int i = 0; i < occupants.length; i++){
+            if(occupants[i] != -1)
+                names[i] = currentConfig.getPuzzle().getDefinition(occupants[i]).getCarName();
+        }
+        return names;
+    }
+
+    /** Determine whether to end the game (PTUI use)
+     * @return Whether the game has ended
+     */
+    public boolean isGameEnd(){
+        return gameEnd;
+    }
+
+    /** Get the X dimension of the current config
+     * @return The X dimension of the current config
+     */
+    public int getDIMX(){
+        return currentConfig.getDimensionX();
+    }
+
+    /** Get the Y dimension of the current config
+     * @return The Y dimension of the current config
+     */
+    public int getDIMY(){
+        return currentConfig.getDimensionY();
+    }
+
+    /** Get an array of all the configs cars
+     * @return array of all the configs cars
+     */
+    public Car[] getCars(){
+        return currentConfig.getCars();
+    }
+
+    /** Get a specific car from the config
+     * @param name the name of the car to get from the config
+     * @return a car from the current config
+     */
+    public Car getCar(String name){
+        return currentConfig.getCar(name);
+    }
+
+    /** Get the reset file
+     * @return the reset file
+     */
+    public String getResetFile(){
+        return resetFile;
+    }
+
+    /** Generate a toString for the current config
+     * @return a Grid representing the current config
+     */
+    @Override
+    public String toString() {
+        return currentConfig.toString();
+    }
+}
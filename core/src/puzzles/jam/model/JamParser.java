@@ -0,0 +1,240 @@
+package puzzles.jam.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JamParser class
+ * Reads puzzles in the text format of the data directory straight from the bytes of a file:
+ * the number of rows and columns, the number of cars, then the name and the start and end
+ * cell of each car.
+ * A bundle file holds any number of puzzles one after another in the same format, and
+ * its puzzles are parsed one at a time as they are asked for. A file of one puzzle is
+ * a bundle of one.
+ * Malformed input throws the same exceptions Scanner would: NoSuchElementException when
+ * the input ends inside a puzzle, InputMismatchException when a number is expected.
+ * A puzzle that parses but can not be played, such as one with a car off the board,
+ * a car longer than 3, overlapping cars or no car X, also throws InputMismatchException, with the byte
+ * offset of the puzzle or car at fault.
+ */
+public class JamParser implements Iterator<JamConfig> {
+    // smaller files are read into memory, larger bundles are mapped
+    private static final long MAP_THRESHOLD = 1 << 20;
+    private final ByteBuffer input;
+
+    /** Parse puzzles from a buffer
+     * @param input the bytes of the puzzles, read from its position to its limit
+     */
+    public JamParser(ByteBuffer input) {
+        this.input = input;
+    }
+
+    /** Parse the first puzzle of a file
+     * @param file the puzzle file
+     * @return the start config of the puzzle
+     * @throws IOException if the file can not be read
+     */
+    public static JamConfig parse(Path file) throws IOException {
+        return open(file).next();
+    }
+
+    /** Open a bundle file
+     * @param file the bundle file
+     * @return a parser handing out the puzzles of the file in order
+     * @throws IOException if the file can not be read
+     */
+    public static JamParser open(Path file) throws IOException {
+        return new JamParser(read(file));
+    }
+
+    /** Stream the puzzles of a bundle file, parsing each one when it is reached
+     * @param file the bundle file
+     * @return the start config of every puzzle in the file
+     * @throws IOException if the file can not be read
+     */
+    public static Stream<JamConfig> stream(Path file) throws IOException {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(open(file),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /** Read the contents of a file, mapping it if it is large
+     * @param file the file to read
+     * @return the contents of the file
+     * @throws IOException if the file can not be read
+     */
+    private static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) size);
+            while (contents.hasRemaining() && channel.read(contents) >= 0) {
+                // keep reading until the whole file is in the buffer
+            }
+            return contents.flip();
+        }
+    }
+
+    /** Determine if another puzzle follows
+     * @return whether anything but whitespace is left in the input
+     */
+    @Override
+    public boolean hasNext() {
+        skipWhitespace();
+        return input.hasRemaining();
+    }
+
+    /** Parse the next puzzle
+     * @return the start config of the puzzle
+     */
+    @Override
+    public JamConfig next() {
+        skipWhitespace();
+        int puzzleOffset = input.position();
+        int dimensionX = nextInt();
+        int dimensionY = nextInt();
+        int numCars = nextInt();
+        // positions and lanes are stored in single bytes
+        if (dimensionX < 1 || dimensionY < 1 || dimensionX > Byte.MAX_VALUE || dimensionY > Byte.MAX_VALUE)
+            throw invalid("Board of " + dimensionX + " by " + dimensionY, puzzleOffset);
+        if (numCars < 1 || numCars > dimensionX * dimensionY)
+            throw invalid(numCars + " cars on a board of " + dimensionX + " by " + dimensionY, puzzleOffset);
+        CarDefinition[] definitions = new CarDefinition[numCars];
+        byte[] positions = new byte[numCars];
+        boolean[] covered = new boolean[dimensionX * dimensionY];
+        for (int i = 0; i < numCars; i++) {
+            skipWhitespace();
+            int carOffset = input.position();
+            String name = nextName();
+            int startX = nextInt();
+            int startY = nextInt();
+            int endX = nextInt();
+            int endY = nextInt();
+            checkCar(name, startX, startY, endX, endY, dimensionX, dimensionY, carOffset);
+            for (int j = 0; j < i; j++) {
+                if (definitions[j].getCarName().equals(name))
+                    throw invalid("Car " + name + " is defined twice", carOffset);
+            }
+            for (int x = Math.min(startX, endX); x <= Math.max(startX, endX); x++) {
+                for (int y = Math.min(startY, endY); y <= Math.max(startY, endY); y++) {
+                    if (covered[x * dimensionY + y])
+                        throw invalid("Car " + name + " overlaps another car at " + x + " " + y, carOffset);
+                    covered[x * dimensionY + y] = true;
+                }
+            }
+            int length = Math.max(Math.abs(endX - startX), Math.abs(endY - startY)) + 1;
+            if (startX == endX) {
+                definitions[i] = new CarDefinition(name, length, Car.ORIENTATION.HORIZONTAL, startX);
+                positions[i] = (byte) Math.min(startY, endY);
+            } else {
+                definitions[i] = new CarDefinition(name, length, Car.ORIENTATION.VERTICAL, startY);
+                positions[i] = (byte) Math.min(startX, endX);
+            }
+        }
+        JamPuzzle puzzle = new JamPuzzle(dimensionX, dimensionY, definitions);
+        if (puzzle.getCarXIndex() == -1)
+            throw invalid("No car X", puzzleOffset);
+        return new JamConfig(puzzle, positions);
+    }
+
+    /** Check that a car lies on the board along a single row or column, and is 2 or 3 cells
+     * long as Car can only draw those
+     * @param name the name of the car
+     * @param startX the row of the start cell
+     * @param startY the column of the start cell
+     * @param endX the row of the end cell
+     * @param endY the column of the end cell
+     * @param dimensionX the number of rows of the board
+     * @param dimensionY the number of columns of the board
+     * @param offset the byte offset of the car, for the error message
+     * @throws InputMismatchException if the car can not be placed
+     */
+    private static void checkCar(String name, int startX, int startY, int endX, int endY, int dimensionX, int dimensionY,
+                                 int offset) {
+        if (Math.min(startX, endX) < 0 || Math.max(startX, endX) >= dimensionX
+                || Math.min(startY, endY) < 0 || Math.max(startY, endY) >= dimensionY)
+            throw invalid("Car " + name + " is off the board", offset);
+        if (startX == endX && startY == endY)
+            throw invalid("Car " + name + " has no length", offset);
+        if (startX != endX && startY != endY)
+            throw invalid("Car " + name + " is not in a single row or column", offset);
+        if (Math.abs(endX - startX) + Math.abs(endY - startY) > 2)
+            throw invalid("Car " + name + " is longer than 3", offset);
+    }
+
+    /** Describe a puzzle that can not be played
+     * @param problem what is wrong with the puzzle
+     * @param offset the byte offset of the puzzle or car at fault
+     * @return the exception to throw
+     */
+    private static InputMismatchException invalid(String problem, int offset) {
+        return new InputMismatchException(problem + " at byte " + offset);
+    }
+
+    /** Skip spaces, tabs and line breaks
+     */
+    private void skipWhitespace() {
+        while (input.hasRemaining() && isWhitespace(input.get(input.position()))) {
+            input.get();
+        }
+    }
+
+    /** Determine if a byte separates tokens
+     * @param b the byte to check
+     * @return whether the byte is whitespace
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+
+    /** Parse the next token as a whole number
+     * @return the number
+     */
+    private int nextInt() {
+        skipWhitespace();
+        if (!input.hasRemaining())
+            throw new NoSuchElementException();
+        boolean negative = input.get(input.position()) == '-';
+        if (negative)
+            input.get();
+        int value = 0, digits = 0;
+        while (input.hasRemaining() && !isWhitespace(input.get(input.position()))) {
+            int digit = input.get() - '0';
+            if (digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10)
+                throw new InputMismatchException("Expected a number at byte " + (input.position() - 1));
+            value = value * 10 + digit;
+            digits++;
+        }
+        if (digits == 0)
+            throw new InputMismatchException("Expected a number at byte " + input.position());
+        return negative ? -value : value;
+    }
+
+    /** Parse the next token as a car name
+     * @return the name
+     */
+    private String nextName() {
+        skipWhitespace();
+        if (!input.hasRemaining())
+            throw new NoSuchElementException();
+        int start = input.position();
+        while (input.hasRemaining() && !isWhitespace(input.get(input.position()))) {
+            input.get();
+        }
+        byte[] name = new byte[input.position() - start];
+        input.get(start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,328 @@
+package puzzles.jam.model;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Heuristic;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * JamPatternDatabase class
+ * A heuristic for Jam that keeps car "carX" and a chosen subset of the other cars, drops the
+ * rest, and stores the exact number of moves from every arrangement of the kept cars to a
+ * solution. Dropping cars only removes obstacles, so the stored distance never overshoots
+ * the real one. The table holds one byte per arrangement in off-heap memory and can be
+ * saved to disk and mapped again by later runs.
+ */
+public class JamPatternDatabase implements Heuristic {
+    private static final int MAGIC = 0x4A504442; // "JPDB"
+    private static final int VERSION = 1;
+    /** the largest table built by default, in arrangements (and bytes) */
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 24;
+    private static final int UNREACHABLE = 0xFF;
+    private final int[] cars; // indexes of the kept cars, car "carX" first
+    private final int[] strides; // index step of one position of each kept car
+    private final ByteBuffer buffer;
+    private final int headerSize;
+
+    /** Wrap a built or mapped table
+     * @param cars the indexes of the kept cars
+     * @param strides the index step of each kept car
+     * @param buffer the header and table
+     */
+    private JamPatternDatabase(int[] cars, int[] strides, ByteBuffer buffer) {
+        this.cars = cars;
+        this.strides = strides;
+        this.buffer = buffer;
+        headerSize = headerSize(cars.length);
+    }
+
+    /** Look up the distance of the kept cars of a config to a solution
+     * @param config a JamConfig of the puzzle the table was built for
+     * @return a lower bound on the moves to a solution
+     */
+    @Override
+    public int estimate(Configuration config) {
+        JamConfig jam = (JamConfig) config;
+        int index = 0;
+        for (int k = 0; k < cars.length; k++) {
+            index += jam.getPosition(cars[k]) * strides[k];
+        }
+        // an arrangement the kept cars can not solve can not be solved with every car either
+        return buffer.get(headerSize + index) & 0xFF;
+    }
+
+    /** Get the cars the table keeps
+     * @return the indexes of the kept cars
+     */
+    public int[] getCars() {
+        return cars.clone();
+    }
+
+    /** Choose the cars to keep: car "carX", the cars blocking its row, then the cars in the
+     * lanes of cars already chosen, while the table stays under a size
+     * @param start a config of the puzzle
+     * @param maxEntries the largest table allowed
+     * @return the indexes of the cars to keep, car "carX" first
+     */
+    public static int[] defaultPattern(JamConfig start, int maxEntries) {
+        JamPuzzle puzzle = start.getPuzzle();
+        ArrayList<Integer> chosen = new ArrayList<>();
+        chosen.add(puzzle.getCarXIndex());
+        long size = positionCount(puzzle, puzzle.getCarXIndex());
+        for (int next = 0; next < chosen.size(); next++) {
+            CarDefinition lane = puzzle.getDefinition(chosen.get(next));
+            for (int cell = 0; cell < (lane.isHorizontal() ? puzzle.getDimensionY() : puzzle.getDimensionX()); cell++) {
+                int row = lane.isHorizontal() ? lane.getLane() : cell;
+                int column = lane.isHorizontal() ? cell : lane.getLane();
+                int occupant = start.occupant(row, column);
+                if (occupant != -1 && !chosen.contains(occupant) && size * positionCount(puzzle, occupant) <= maxEntries) {
+                    size *= positionCount(puzzle, occupant);
+                    chosen.add(occupant);
+                }
+            }
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Compute the exact distances of every arrangement of the kept cars by searching
+     * backward from every arrangement where car "carX" touches the last column
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars, car "carX" first
+     * @return the pattern database
+     */
+    public static JamPatternDatabase build(JamPuzzle puzzle, int[] cars) {
+        int[] strides = strides(puzzle, cars);
+        int size = strides[0] * positionCount(puzzle, cars[0]);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(headerSize(cars.length) + size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(puzzle.fingerprint()).putInt(cars.length);
+        for (int car : cars) {
+            buffer.putInt(car);
+        }
+        int header = buffer.position();
+        for (int i = 0; i < size; i++) {
+            buffer.put((byte) UNREACHABLE);
+        }
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        byte[] positions = new byte[cars.length];
+        for (int index = 0; index < size; index++) {
+            decode(puzzle, cars, strides, index, positions);
+            if (isGoal(puzzle, cars, positions) && !overlaps(puzzle, cars, positions)) {
+                buffer.put(header + index, (byte) 0);
+                queue[tail++] = index;
+            }
+        }
+        while (head < tail) {
+            int index = queue[head++];
+            int next = Math.min((buffer.get(header + index) & 0xFF) + 1, UNREACHABLE - 1);
+            decode(puzzle, cars, strides, index, positions);
+            for (int k = 0; k < cars.length; k++) {
+                for (int step = -1; step <= 1; step += 2) {
+                    if (canSlide(puzzle, cars, positions, k, step)) {
+                        int neighbor = index + step * strides[k];
+                        if ((buffer.get(header + neighbor) & 0xFF) == UNREACHABLE) {
+                            buffer.put(header + neighbor, (byte) next);
+                            queue[tail++] = neighbor;
+                        }
+                    }
+                }
+            }
+        }
+        return new JamPatternDatabase(cars.clone(), strides, buffer);
+    }
+
+    /** Write the table to a file
+     * @param file the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void save(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer contents = buffer.duplicate();
+            contents.clear();
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+    }
+
+    /** Map a saved table
+     * @param file the file to open
+     * @param puzzle the puzzle the table must have been built for
+     * @return the pattern database, or null if the file does not exist or was built for another puzzle
+     * @throws IOException if the file can not be read
+     */
+    public static JamPatternDatabase open(Path file, JamPuzzle puzzle) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < headerSize(0) || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != puzzle.fingerprint()) {
+                return null;
+            }
+            int[] cars = new int[buffer.getInt(16)];
+            for (int k = 0; k < cars.length; k++) {
+                cars[k] = buffer.getInt(headerSize(k));
+            }
+            int[] strides = strides(puzzle, cars);
+            if (channel.size() != headerSize(cars.length) + (long) strides[0] * positionCount(puzzle, cars[0])) {
+                return null;
+            }
+            return new JamPatternDatabase(cars, strides, buffer);
+        }
+    }
+
+    /** Map a saved table for a set of cars, building and saving it first if needed
+     * @param file the file of the table
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars, car "carX" first
+     * @return the pattern database
+     * @throws IOException if the file can not be read or written
+     */
+    public static JamPatternDatabase openOrBuild(Path file, JamPuzzle puzzle, int[] cars) throws IOException {
+        JamPatternDatabase database = open(file, puzzle);
+        if (database == null || !Arrays.equals(database.cars, cars)) {
+            database = build(puzzle, cars);
+            database.save(file);
+        }
+        return database;
+    }
+
+    /** Get the file a table for a puzzle file and set of cars is saved to
+     * @param filename the puzzle file
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @return the table file next to the puzzle file, named after the kept cars
+     */
+    public static Path fileFor(String filename, JamPuzzle puzzle, int[] cars) {
+        StringBuilder build = new StringBuilder(filename.endsWith(".txt") ? filename.substring(0, filename.length() - 4) : filename);
+        build.append("-");
+        for (int car : cars) {
+            build.append(puzzle.getDefinition(car).getCarName());
+        }
+        return Path.of(build.append(".pdb").toString());
+    }
+
+    /** Get the size of the header for a number of kept cars
+     * @param count the number of kept cars
+     * @return the size of the header in bytes
+     */
+    private static int headerSize(int count) {
+        return 4 + 4 + 8 + 4 + 4 * count;
+    }
+
+    /** Get the number of positions a car can take in its lane
+     * @param puzzle the puzzle
+     * @param car the index of the car
+     * @return the number of positions
+     */
+    private static int positionCount(JamPuzzle puzzle, int car) {
+        CarDefinition definition = puzzle.getDefinition(car);
+        int laneSize = definition.isHorizontal() ? puzzle.getDimensionY() : puzzle.getDimensionX();
+        return laneSize - definition.getLength() + 1;
+    }
+
+    /** Get the index step of one position of each kept car, the last car changing fastest
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @return the stride of each kept car
+     */
+    private static int[] strides(JamPuzzle puzzle, int[] cars) {
+        int[] strides = new int[cars.length];
+        int stride = 1;
+        for (int k = cars.length - 1; k >= 0; k--) {
+            strides[k] = stride;
+            stride *= positionCount(puzzle, cars[k]);
+        }
+        return strides;
+    }
+
+    /** Read the positions of the kept cars from a table index
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @param strides the stride of each kept car
+     * @param index the table index
+     * @param positions receives the position of each kept car
+     */
+    private static void decode(JamPuzzle puzzle, int[] cars, int[] strides, int index, byte[] positions) {
+        for (int k = 0; k < cars.length; k++) {
+            positions[k] = (byte) (index / strides[k]);
+            index %= strides[k];
+        }
+    }
+
+    /** Determine if car "carX", the first kept car, touches the last column
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @param positions the position of each kept car
+     * @return whether the arrangement is a solution
+     */
+    private static boolean isGoal(JamPuzzle puzzle, int[] cars, byte[] positions) {
+        CarDefinition carX = puzzle.getDefinition(cars[0]);
+        if (carX.isHorizontal())
+            return positions[0] + carX.getLength() == puzzle.getDimensionY();
+        return carX.getLane() == puzzle.getDimensionY() - 1;
+    }
+
+    /** Determine if any two kept cars cover the same cell
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @param positions the position of each kept car
+     * @return whether the arrangement is impossible
+     */
+    private static boolean overlaps(JamPuzzle puzzle, int[] cars, byte[] positions) {
+        for (int k = 0; k < cars.length; k++) {
+            CarDefinition definition = puzzle.getDefinition(cars[k]);
+            for (int cell = positions[k]; cell < positions[k] + definition.getLength(); cell++) {
+                int row = definition.isHorizontal() ? definition.getLane() : cell;
+                int column = definition.isHorizontal() ? cell : definition.getLane();
+                if (coveringCar(puzzle, cars, positions, row, column, k) != -1)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /** Determine if a kept car can slide one cell among the other kept cars
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @param positions the position of each kept car
+     * @param k which kept car to slide
+     * @param step the change in position
+     * @return whether the entered cell is on the board and empty
+     */
+    private static boolean canSlide(JamPuzzle puzzle, int[] cars, byte[] positions, int k, int step) {
+        CarDefinition definition = puzzle.getDefinition(cars[k]);
+        int entered = step > 0 ? positions[k] + definition.getLength() : positions[k] - 1;
+        int laneSize = definition.isHorizontal() ? puzzle.getDimensionY() : puzzle.getDimensionX();
+        if (entered < 0 || entered >= laneSize)
+            return false;
+        int row = definition.isHorizontal() ? definition.getLane() : entered;
+        int column = definition.isHorizontal() ? entered : definition.getLane();
+        return coveringCar(puzzle, cars, positions, row, column, k) == -1;
+    }
+
+    /** Find a kept car other than one covering a cell
+     * @param puzzle the puzzle
+     * @param cars the indexes of the kept cars
+     * @param positions the position of each kept car
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @param skip the kept car to ignore
+     * @return which kept car covers the cell, or -1 if none does
+     */
+    private static int coveringCar(JamPuzzle puzzle, int[] cars, byte[] positions, int row, int column, int skip) {
+        for (int j = 0; j < cars.length; j++) {
+            if (j != skip && puzzle.getDefinition(cars[j]).covers(positions[j], row, column))
+                return j;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,140 @@
+package puzzles.jam.model;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * JamPuzzle class
+ * The immutable description of a loaded puzzle shared by every JamConfig of that puzzle.
+ * Nothing here changes after construction, so configs of different puzzles can be
+ * searched on different threads at the same time.
+ * Each puzzle also holds a random Zobrist key for every car at every position along its
+ * lane; a config's hash is the XOR of the keys of its cars, so a move changes it with two XORs.
+ */
+public class JamPuzzle {
+    private final int dimensionX, dimensionY;
+    private final int bitsPerCar;
+    private final CarDefinition[] definitions;
+    private final HashMap<String, Integer> carIndexes = new HashMap<>();
+    private final int carXIndex;
+    private final int laneSize; // positions per car in the key table
+    private final long[] zobristKeys; // key of car i at position p is at i * laneSize + p
+
+    /** Create a puzzle from its board size and car definitions
+     * @param dimensionX the number of rows of the board
+     * @param dimensionY the number of columns of the board
+     * @param definitions the definitions of every car in the puzzle
+     */
+    public JamPuzzle(int dimensionX, int dimensionY, CarDefinition[] definitions) {
+        this.dimensionX = dimensionX;
+        this.dimensionY = dimensionY;
+        this.definitions = definitions;
+        // enough bits to hold the largest position along either side of the board
+        bitsPerCar = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(dimensionX, dimensionY) - 1));
+        int xIndex = -1;
+        for (int i = 0; i < definitions.length; i++) {
+            carIndexes.put(definitions[i].getCarName(), i);
+            if (Objects.equals(definitions[i].getCarName(), "X")) {
+                xIndex = i;
+            }
+        }
+        carXIndex = xIndex;
+        laneSize = Math.max(dimensionX, dimensionY);
+        zobristKeys = new long[definitions.length * laneSize];
+        // seeded by the puzzle so hashes are the same on every run
+        SplittableRandom random = new SplittableRandom(fingerprint());
+        for (int i = 0; i < zobristKeys.length; i++) {
+            zobristKeys[i] = random.nextLong();
+        }
+    }
+
+    /** Get the number of rows of the board
+     * @return the number of rows
+     */
+    public int getDimensionX() {
+        return dimensionX;
+    }
+
+    /** Get the number of columns of the board
+     * @return the number of columns
+     */
+    public int getDimensionY() {
+        return dimensionY;
+    }
+
+    /** Get the number of bits each car's position takes in a packed state
+     * @return the number of bits per car
+     */
+    public int getBitsPerCar() {
+        return bitsPerCar;
+    }
+
+    /** Get a fingerprint of the board size and car definitions, used to check that a
+     * precomputed file was built for this puzzle
+     * @return a 64 bit hash of the puzzle
+     */
+    public long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ dimensionX) * 0x100000001b3L;
+        hash = (hash ^ dimensionY) * 0x100000001b3L;
+        for (CarDefinition definition : definitions) {
+            hash = (hash ^ definition.getCarName().hashCode()) * 0x100000001b3L;
+            hash = (hash ^ definition.getLength()) * 0x100000001b3L;
+            hash = (hash ^ definition.getOrientation().ordinal()) * 0x100000001b3L;
+            hash = (hash ^ definition.getLane()) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** Get the Zobrist key of a car at a position
+     * @param index the index of the car
+     * @param position the first cell of the car along its lane
+     * @return the key of the car at the position
+     */
+    public long zobristKey(int index, int position) {
+        return zobristKeys[index * laneSize + position];
+    }
+
+    /** Get the Zobrist hash of an arrangement of the cars
+     * @param positions the position of each car along its lane
+     * @return the XOR of the key of every car at its position
+     */
+    public long zobristHash(byte[] positions) {
+        long hash = 0;
+        for (int i = 0; i < positions.length; i++) {
+            hash ^= zobristKey(i, positions[i]);
+        }
+        return hash;
+    }
+
+    /** Get the number of cars in the puzzle
+     * @return the number of cars
+     */
+    public int getNumCars() {
+        return definitions.length;
+    }
+
+    /** Get the definition of a car
+     * @param index the index of the car
+     * @return the definition of the car
+     */
+    public CarDefinition getDefinition(int index) {
+        return definitions[index];
+    }
+
+    /** Get the index of a car by its name
+     * @param name the name of the car
+     * @return the index of the car, or -1 if there is no such car
+     */
+    public int indexOf(String name) {
+        Integer index = carIndexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /** Get the index of car "X"
+     * @return the index of car "X"
+     */
+    public int getCarXIndex() {
+        return carXIndex;
+    }
+}
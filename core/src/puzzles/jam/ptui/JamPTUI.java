@@ -1,5 +1,7 @@
 package puzzles.jam.ptui;
 import puzzles.common.Observer;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
 import puzzles.jam.model.JamClientData;
 import puzzles.jam.model.JamModel;
 import java.io.FileNotFoundException;
@@ -12,8 +14,8 @@ import java.util.Scanner;
 public class JamPTUI implements Observer<JamModel, JamClientData> {
     private final JamModel model;
 
-    public JamPTUI(String filename) throws FileNotFoundException {
-        model = new JamModel(filename);
+    public JamPTUI(String filename, Solver solver) throws FileNotFoundException {
+        model = new JamModel(filename, solver);
         model.addObserver(this);
     }
 
@@ -43,10 +45,14 @@ public class JamPTUI implements Observer<JamModel, JamClientData> {
     }
 
     public static void main(String[] args) throws FileNotFoundException {
-        if (args.length != 1) {
-            System.out.println("Provide a file in the data directory as an argument");
+        SolverStrategy strategy = args.length == 2 ? SolverStrategy.fromName(args[1]) : SolverStrategy.PACKED;
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Provide a file in the data directory as an argument, optionally followed by a solver ("
+                    + SolverStrategy.names() + ")");
+        } else if (strategy == null){
+            System.out.println("Unknown solver: " + args[1]);
         } else{
-            JamPTUI ptui = new JamPTUI(args[0]);
+            JamPTUI ptui = new JamPTUI(args[0], strategy);
             ptui.update(ptui.model, new JamClientData("Loaded: " + args[0]));
             ptui.run();
         }
@@ -0,0 +1,78 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.AStar;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Heuristic;
+import puzzles.common.solver.MoveList;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.SolveStats;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamPatternDatabase;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Driver class for JamConfig
+ * Solve a JamConfig
+ * @author Daniel Tregea
+ */
+public class Jam {
+    /** solver name for A* with a pattern database, built next to the puzzle on first use */
+    private static final String PATTERN_DATABASE = "pdb";
+
+    public static void main(String[] args){
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Provide a file in the data directory as an argument, optionally followed by a solver ("
+                    + SolverStrategy.names() + "|" + PATTERN_DATABASE + ")");
+            return;
+        }
+        String solverName = args.length == 2 ? args[1] : SolverStrategy.PACKED.getName();
+        if (!solverName.equals(PATTERN_DATABASE) && SolverStrategy.fromName(solverName) == null) {
+            System.out.println("Unknown solver: " + solverName);
+            return;
+        }
+        try{
+            JamConfig config = new JamConfig(args[0]);
+            Solver solver = solverName.equals(PATTERN_DATABASE) ? patternSolver(args[0], config) : SolverStrategy.fromName(solverName);
+            SolveResult solveResult = solver.search(config);
+            MoveList moves = solveResult.getMoveList();
+            SolveStats stats = solveResult.getStats();
+            if (moves == null){
+                System.out.println(solveResult.isBudgetExhausted() ? "Search stopped early" : "No solution");
+            } else {
+                // only the start and the end are built in full; the moves are printed by name
+                System.out.println("Step 0:\n" + config);
+                for (int i = 0; i < moves.size(); i++) {
+                    System.out.println("Step " + (i + 1) + ": " + config.moveName(moves.getMove(i)));
+                }
+                System.out.println("Solved:\n" + moves.replay());
+            }
+            System.out.println("Time elapsed: " + stats.getWallTimeSeconds());
+            System.out.println("Total configs: " + stats.getGenerated());
+            System.out.println("Unique configs: " + stats.getUnique());
+            System.out.println("Expanded configs: " + stats.getExpanded());
+            System.out.println("Peak frontier: " + stats.getPeakFrontier());
+            System.out.println("Configs per depth: " + Arrays.toString(stats.getDepthCounts()));
+        } catch (FileNotFoundException e){
+            System.out.println("File Not Found");
+        } catch (IOException e){
+            System.out.println("Pattern database unavailable: " + e.getMessage());
+        }
+    }
+
+    /** Create an A* solver guided by the default pattern database of a puzzle
+     * @param filename the puzzle file, whose directory holds the database
+     * @param config the start of the puzzle
+     * @return the solver
+     * @throws IOException if the database can not be read or written
+     */
+    private static Solver patternSolver(String filename, JamConfig config) throws IOException {
+        int[] cars = JamPatternDatabase.defaultPattern(config, JamPatternDatabase.DEFAULT_MAX_ENTRIES);
+        JamPatternDatabase database = JamPatternDatabase.openOrBuild(
+                JamPatternDatabase.fileFor(filename, config.getPuzzle(), cars), config.getPuzzle(), cars);
+        return new AStar(Heuristic.max(Configuration::estimateDistance, database));
+    }
+}
@@ -0,0 +1,210 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.MoveList;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.SolveStats;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamCorpus;
+import puzzles.jam.model.JamParser;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver class for solving many Jam puzzles in one run
+ * Solve every puzzle in a directory, or every file matching a glob such as data/jam/*.txt,
+ * on a fixed pool of workers. A file may be a bundle of many puzzles, see JamParser, or a
+ * binary corpus, see JamCorpus.
+ * One JSON line is printed per puzzle as soon as it is solved, so lines come out in the
+ * order the solves finish. A puzzle that can not be read or solved gets a line with an
+ * error field instead.
+ * Only a few puzzles more than there are workers are read ahead, so memory stays flat
+ * however many files there are.
+ */
+public class JamBatch {
+    private final Solver solver;
+    private final ExecutorService workers;
+    private final Semaphore pending; // puzzles submitted but not yet printed
+    private final PrintWriter out;
+
+    /** Create a batch solver
+     * @param solver the solver used for every puzzle
+     * @param threads the number of puzzles solved at once
+     * @param out where the JSON lines are written
+     */
+    public JamBatch(Solver solver, int threads, PrintWriter out) {
+        this.solver = solver;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "jam-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = new Semaphore(threads * 2);
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("Provide a directory or a glob of files as an argument, optionally followed by a solver ("
+                    + SolverStrategy.names() + ") and a number of threads");
+            return;
+        }
+        SolverStrategy strategy = args.length >= 2 ? SolverStrategy.fromName(args[1]) : SolverStrategy.PACKED;
+        if (strategy == null) {
+            System.out.println("Unknown solver: " + args[1]);
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length == 3) {
+            try{
+                threads = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e){
+                threads = 0;
+            }
+            if (threads < 1) {
+                System.out.println("Invalid number of threads: " + args[2]);
+                return;
+            }
+        }
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        JamBatch batch = new JamBatch(strategy, threads, out);
+        try (DirectoryStream<Path> files = openFiles(args[0])) {
+            batch.solveAll(files);
+        } catch (IOException e){
+            System.out.println("Could not list " + args[0] + ": " + e.getMessage());
+        }
+    }
+
+    /** List the puzzle files named by a directory or a glob in its last path element
+     * @param argument a directory, whose text and corpus files are listed, or a path whose
+     * last element is a glob
+     * @return the files, read from the directory as they are needed
+     * @throws IOException if the directory can not be read
+     */
+    public static DirectoryStream<Path> openFiles(String argument) throws IOException {
+        Path path = Path.of(argument);
+        if (Files.isDirectory(path)) {
+            return Files.newDirectoryStream(path, "*.{txt,jamc}");
+        }
+        Path directory = path.getParent() == null ? Path.of(".") : path.getParent();
+        return Files.newDirectoryStream(directory, path.getFileName().toString());
+    }
+
+    /** Solve every puzzle of every file and print a line for each, returning once all are printed
+     * @param files the puzzle and bundle files
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void solveAll(Iterable<Path> files) throws InterruptedException {
+        for (Path file : files) {
+            int index = 0;
+            try{
+                Iterator<JamConfig> puzzles = JamCorpus.isCorpus(file) ? JamCorpus.open(file).iterator() : JamParser.open(file);
+                while (puzzles.hasNext()) {
+                    JamConfig start = puzzles.next();
+                    int puzzle = index++;
+                    // wait for a line to be printed before reading another puzzle
+                    pending.acquire();
+                    workers.execute(() -> {
+                        try{
+                            print(solve(file, puzzle, start));
+                        } catch (RuntimeException e){
+                            // every puzzle still gets exactly one line
+                            print(header(file, puzzle) + ",\"error\":" + quote("Solve failed: " + e) + "}");
+                        } finally {
+                            pending.release();
+                        }
+                    });
+                }
+            } catch (IOException e){
+                print(header(file, index) + ",\"error\":" + quote("Could not read file: " + e.getMessage()) + "}");
+            } catch (RuntimeException e){
+                // the rest of a bundle can not be found after a malformed puzzle
+                print(header(file, index) + ",\"error\":" + quote("Invalid puzzle: " + e) + "}");
+            }
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        out.flush();
+    }
+
+    /** Print a line as a whole, even while other workers print theirs
+     * @param line the JSON line
+     */
+    private void print(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    /** Start the JSON line of a puzzle
+     * @param file the file the puzzle is in
+     * @param puzzle the index of the puzzle in the file
+     * @return the line up to its file and puzzle fields
+     */
+    private static String header(Path file, int puzzle) {
+        return "{\"file\":" + quote(file.toString()) + ",\"puzzle\":" + puzzle;
+    }
+
+    /** Solve a puzzle
+     * @param file the file the puzzle is in
+     * @param puzzle the index of the puzzle in the file
+     * @param start the start config of the puzzle
+     * @return the JSON line describing the solve
+     */
+    private String solve(Path file, int puzzle, JamConfig start) {
+        StringBuilder build = new StringBuilder(header(file, puzzle));
+        SolveResult result = solver.search(start);
+        MoveList moves = result.getMoveList();
+        SolveStats stats = result.getStats();
+        build.append(",\"solved\":").append(result.isSolved());
+        build.append(",\"moves\":").append(result.isSolved() ? String.valueOf(moves.size()) : "null");
+        build.append(",\"states\":").append(stats.getUnique());
+        build.append(",\"expanded\":").append(stats.getExpanded());
+        build.append(",\"millis\":").append(stats.getWallTimeNanos() / 1_000_000.0);
+        build.append(",\"solution\":");
+        if (result.isSolved()) {
+            build.append('[');
+            for (int i = 0; i < moves.size(); i++) {
+                if (i > 0)
+                    build.append(',');
+                build.append(quote(start.moveName(moves.getMove(i))));
+            }
+            build.append(']');
+        } else {
+            build.append("null");
+        }
+        return build.append('}').toString();
+    }
+
+    /** Quote a string as a JSON string
+     * @param value the string to quote
+     * @return the quoted and escaped string
+     */
+    private static String quote(String value) {
+        StringBuilder build = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                build.append('\\').append(c);
+            } else if (c < 0x20) {
+                build.append(String.format("\\u%04x", (int) c));
+            } else {
+                build.append(c);
+            }
+        }
+        return build.append('"').toString();
+    }
+}
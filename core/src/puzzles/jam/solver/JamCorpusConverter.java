@@ -0,0 +1,97 @@
+package puzzles.jam.solver;
+
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamCorpus;
+import puzzles.jam.model.JamParser;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Driver class for JamCorpus
+ * Convert puzzle and bundle text files into one binary corpus. Each puzzle is named after
+ * its file, with "#" and its index for every puzzle after the first of a bundle.
+ */
+public class JamCorpusConverter {
+    public static void main(String[] args){
+        if (args.length < 2) {
+            System.out.println("Provide the corpus file to write, followed by one or more directories or globs of puzzle files");
+            return;
+        }
+        int puzzles = 0;
+        try (JamCorpus.Writer corpus = new JamCorpus.Writer(Path.of(args[0]))) {
+            for (int i = 1; i < args.length; i++) {
+                for (Path file : sortedFiles(args[i])) {
+                    puzzles += convert(file, corpus);
+                }
+            }
+        } catch (IOException e){
+            System.out.println("Could not write " + args[0] + ": " + e.getMessage());
+            return;
+        }
+        System.out.println("Wrote " + puzzles + " puzzles to " + args[0]);
+    }
+
+    /** List the files named by a directory or glob in name order, so a corpus built twice
+     * from the same files is the same
+     * @param argument a directory, or a path whose last element is a glob
+     * @return the files in name order
+     * @throws IOException if the directory can not be read
+     */
+    private static List<Path> sortedFiles(String argument) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> listing = JamBatch.openFiles(argument)) {
+            for (Path file : listing) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /** Add every puzzle of a text file to the corpus. A file that can not be read or parsed
+     * is reported and the puzzles before the error are kept
+     * @param file the puzzle or bundle file
+     * @param corpus the corpus being written
+     * @return the number of puzzles added
+     * @throws IOException if the corpus can not be written
+     */
+    private static int convert(Path file, JamCorpus.Writer corpus) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".txt")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        JamParser parser;
+        try{
+            parser = JamParser.open(file);
+        } catch (IOException e){
+            System.out.println(file + ": skipped: " + e.getMessage());
+            return 0;
+        }
+        int index = 0;
+        while (true) {
+            JamConfig config;
+            try{
+                if (!parser.hasNext()) {
+                    return index;
+                }
+                config = parser.next();
+            } catch (RuntimeException e){
+                // the rest of a bundle can not be found after a malformed puzzle
+                System.out.println(file + ": skipped from puzzle " + index + ": " + e.getMessage());
+                return index;
+            }
+            try{
+                corpus.add(index == 0 ? name : name + "#" + index, config);
+            } catch (IllegalArgumentException e){
+                // nothing of the puzzle was written
+                System.out.println(file + ": skipped from puzzle " + index + ": " + e.getMessage());
+                return index;
+            }
+            index++;
+        }
+    }
+}
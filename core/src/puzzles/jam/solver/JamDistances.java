@@ -0,0 +1,39 @@
+package puzzles.jam.solver;
+
+import puzzles.common.solver.DistanceDatabase;
+import puzzles.jam.model.JamConfig;
+import puzzles.jam.model.JamModel;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Driver class for DistanceDatabase
+ * Precompute the distance of every reachable state of Jam puzzles to a solution, so hints
+ * in JamModel become a lookup
+ */
+public class JamDistances {
+    public static void main(String[] args){
+        if (args.length == 0) {
+            System.out.println("Provide one or more files in the data directory as arguments");
+        }
+        for (String filename : args) {
+            try{
+                JamConfig config = new JamConfig(filename);
+                if (!config.canPack()) {
+                    System.out.println(filename + ": Puzzle too large to pack");
+                    continue;
+                }
+                Path file = JamModel.distanceFile(filename);
+                long start = System.currentTimeMillis();
+                int states = DistanceDatabase.build(config, config.getPuzzle().fingerprint(), file);
+                double elapsed = (System.currentTimeMillis() - start) / 1000.0;
+                System.out.println(filename + ": " + states + " states written to " + file + " in " + elapsed + "s");
+            } catch (FileNotFoundException e){
+                System.out.println(filename + ": File Not Found");
+            } catch (IOException e){
+                System.out.println(filename + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AStarTest class
+ * AStar with the default estimate finds optimal solutions while expanding no more states
+ * than breadth first search
+ */
+class AStarTest {
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void findsTheOptimalSolution(int puzzle) throws IOException {
+        JamData.assertOptimal(puzzle, new AStar().search(JamData.load(puzzle)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void expandsNoMoreThanBFS(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        long aStar = new AStar().search(start).getStats().getExpanded();
+        long bfs = PackedBFS.search(start).getStats().getExpanded();
+        assertTrue(aStar <= bfs, aStar + " expanded, BFS expanded " + bfs);
+    }
+}
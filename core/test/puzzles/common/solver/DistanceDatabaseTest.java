@@ -0,0 +1,71 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * DistanceDatabaseTest class
+ * A distance database built for a puzzle gives the optimal number of moves from every
+ * state along a solution, and is only opened for the puzzle it was built for
+ */
+class DistanceDatabaseTest {
+    @TempDir
+    Path tempDirectory;
+
+    // jam-0 starts on a solution, so its distance is 0 rather than its solution length
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11})
+    void distancesCountDownAlongASolution(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        DistanceDatabase database = build(start);
+        assertEquals(JamData.optimal(puzzle), database.distance(start.pack()));
+        SolveResult result = PackedBFS.search(start);
+        if (result.isSolved()) {
+            List<Configuration> path = result.getPath();
+            for (int i = 0; i < path.size(); i++) {
+                assertEquals(path.size() - 1 - i, database.distance(((JamConfig) path.get(i)).pack()), "step " + i);
+            }
+        }
+    }
+
+    @Test
+    void storesEveryReachableState() throws IOException {
+        JamConfig start = JamData.load(11);
+        Path file = tempDirectory.resolve("jam-11.dist");
+        int states = DistanceDatabase.build(start, start.getPuzzle().fingerprint(), file);
+        // jam-11 has no solution, so PackedBFS visits every reachable state
+        assertEquals(PackedBFS.search(start).getStats().getUnique(), states);
+    }
+
+    @Test
+    void opensOnlyForTheSamePuzzle() throws IOException {
+        JamConfig start = JamData.load(1);
+        Path file = tempDirectory.resolve("jam-1.dist");
+        DistanceDatabase.build(start, start.getPuzzle().fingerprint(), file);
+        assertNotNull(DistanceDatabase.open(file, start.getPuzzle().fingerprint()));
+        assertNull(DistanceDatabase.open(file, JamData.load(2).getPuzzle().fingerprint()));
+        assertNull(DistanceDatabase.open(tempDirectory.resolve("missing.dist"), start.getPuzzle().fingerprint()));
+    }
+
+    /** Build and open the database of a puzzle
+     * @param start the start config of the puzzle
+     * @return the opened database
+     * @throws IOException if the file can not be written or read
+     */
+    private DistanceDatabase build(JamConfig start) throws IOException {
+        Path file = tempDirectory.resolve("puzzle.dist");
+        long fingerprint = start.getPuzzle().fingerprint();
+        DistanceDatabase.build(start, fingerprint, file);
+        return DistanceDatabase.open(file, fingerprint);
+    }
+}
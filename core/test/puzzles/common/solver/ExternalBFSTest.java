@@ -0,0 +1,48 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ExternalBFSTest class
+ * ExternalBFS finds optimal solutions with its states on disk, visits the same states as
+ * BFS when it searches the whole space, and removes its files afterward
+ */
+class ExternalBFSTest {
+    @TempDir
+    Path tempDirectory;
+
+    // the smallest budget forces a run file every 1024 states, so runs are merged on every puzzle
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void findsTheOptimalSolution(int puzzle) throws IOException {
+        JamData.assertOptimal(puzzle, new ExternalBFS(tempDirectory, 0).search(JamData.load(puzzle)));
+    }
+
+    @Test
+    void visitsEveryStateOnceWithoutASolution() throws IOException {
+        JamConfig start = JamData.load(11);
+        SolveStats external = new ExternalBFS(tempDirectory, 0).search(start).getStats();
+        SolveStats packed = PackedBFS.search(start).getStats();
+        assertEquals(packed.getUnique(), external.getUnique());
+        assertEquals(packed.getExpanded(), external.getExpanded());
+        assertEquals(packed.getMaxDepth(), external.getMaxDepth());
+    }
+
+    @Test
+    void deletesItsFiles() throws IOException {
+        new ExternalBFS(tempDirectory, 0).search(JamData.load(10));
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
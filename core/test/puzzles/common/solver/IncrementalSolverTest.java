@@ -0,0 +1,57 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IncrementalSolverTest class
+ * IncrementalSolver finds optimal solutions, answers again from its remembered paths and
+ * repairs them optimally after a move off the path
+ */
+class IncrementalSolverTest {
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void findsTheOptimalSolution(int puzzle) throws IOException {
+        JamData.assertOptimal(puzzle, new IncrementalSolver(SolverStrategy.PACKED).search(JamData.load(puzzle), SolveOptions.UNLIMITED));
+    }
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void answersAgainFromTheRememberedPath(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        IncrementalSolver solver = new IncrementalSolver(SolverStrategy.PACKED);
+        solver.search(start, SolveOptions.UNLIMITED);
+        SolveResult again = solver.search(start, SolveOptions.UNLIMITED);
+        JamData.assertOptimal(puzzle, again);
+        if (again.isSolved()) {
+            assertEquals(0, again.getStats().getExpanded());
+        }
+    }
+
+    @Test
+    void repairsOptimallyAfterLeavingThePath() throws IOException {
+        JamConfig start = JamData.load(5);
+        IncrementalSolver solver = new IncrementalSolver(SolverStrategy.PACKED);
+        List<Configuration> path = solver.solve(start);
+        for (int step = 0; step < path.size() - 1; step += 10) {
+            Configuration onPath = path.get(step);
+            Configuration next = path.get(step + 1);
+            for (Configuration offPath : onPath.getNeighbors()) {
+                if (offPath.equals(next)) {
+                    continue;
+                }
+                int expected = PackedBFS.search((JamConfig) offPath).getMoveList().size();
+                SolveResult repaired = solver.search(offPath, SolveOptions.UNLIMITED);
+                assertEquals(expected, repaired.getMoveList().size(), "after leaving step " + step);
+                assertTrue(repaired.getMoveList().replay().isSolution());
+            }
+        }
+    }
+}
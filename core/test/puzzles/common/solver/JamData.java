@@ -0,0 +1,58 @@
+package puzzles.common.solver;
+
+import puzzles.jam.model.JamConfig;
+import java.io.FileNotFoundException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamData class
+ * The puzzles in data/jam and their optimal solution lengths, shared by the solver tests
+ */
+public class JamData {
+    public static final String DIRECTORY = "../data/jam/";
+    // the optimal number of moves of data/jam/jam-N.txt, -1 for no solution
+    private static final int[] OPTIMAL = {2, 3, 6, 9, 21, 70, 83, 14, 16, 21, 33, -1};
+
+    /** List the puzzles, for a MethodSource
+     * @return the number of every puzzle
+     */
+    public static IntStream puzzles() {
+        return IntStream.range(0, OPTIMAL.length);
+    }
+
+    /** Load a puzzle
+     * @param puzzle the number of the puzzle
+     * @return the start config of data/jam/jam-N.txt
+     * @throws FileNotFoundException if the data directory is not next to the working directory
+     */
+    public static JamConfig load(int puzzle) throws FileNotFoundException {
+        return new JamConfig(DIRECTORY + "jam-" + puzzle + ".txt");
+    }
+
+    /** Get the optimal solution length of a puzzle
+     * @param puzzle the number of the puzzle
+     * @return the number of moves, -1 for no solution
+     */
+    public static int optimal(int puzzle) {
+        return OPTIMAL[puzzle];
+    }
+
+    /** Check that a result is an optimal solution of a puzzle, or no solution for jam-11
+     * @param puzzle the number of the puzzle
+     * @param result the result of a solver
+     */
+    public static void assertOptimal(int puzzle, SolveResult result) {
+        if (OPTIMAL[puzzle] == -1) {
+            assertFalse(result.isSolved(), "found a solution of jam-" + puzzle);
+            return;
+        }
+        assertTrue(result.isSolved(), "found no solution of jam-" + puzzle);
+        MoveList moves = result.getMoveList();
+        assertEquals(OPTIMAL[puzzle], moves.size(), "moves of jam-" + puzzle);
+        assertTrue(moves.replay().isSolution(), "the moves do not solve jam-" + puzzle);
+    }
+}
@@ -0,0 +1,82 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MoveListTest class
+ * A move list rebuilds the path it was made from, and rejects paths and moves that can not
+ * be played
+ */
+class MoveListTest {
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void rebuildsThePathItWasMadeFrom(int puzzle) throws IOException {
+        List<Configuration> path = BFS.search(JamData.load(puzzle)).getPath();
+        if (path.isEmpty()) {
+            return;
+        }
+        MoveList moves = MoveList.of(path);
+        assertEquals(path.size() - 1, moves.size());
+        assertSame(path.get(0), moves.getStart());
+        assertEquals(path, moves.toPath());
+        assertEquals(path.get(path.size() - 1), moves.replay());
+        assertTrue(moves.replay().isSolution());
+    }
+
+    @Test
+    void iteratesTheStartAndEveryMove() throws IOException {
+        MoveList moves = PackedBFS.search(JamData.load(5)).getMoveList();
+        List<Configuration> steps = new ArrayList<>();
+        moves.forEach(steps::add);
+        assertEquals(moves.size() + 1, steps.size());
+        assertEquals(moves.toPath(), steps);
+        var iterator = moves.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void getMovesReturnsACopy() throws IOException {
+        MoveList moves = PackedBFS.search(JamData.load(5)).getMoveList();
+        int first = moves.getMove(0);
+        moves.getMoves()[0] = first + 1;
+        assertEquals(first, moves.getMove(0));
+    }
+
+    @Test
+    void rejectsPathsThatAreNotOneMoveApart() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> MoveList.of(List.of()));
+        List<Configuration> path = BFS.search(JamData.load(5)).getPath();
+        List<Configuration> skipping = List.of(path.get(0), path.get(2));
+        assertThrows(IllegalArgumentException.class, () -> MoveList.of(skipping));
+    }
+
+    @Test
+    void replayRejectsAMoveThatCanNotBeMade() throws IOException {
+        JamConfig start = JamData.load(5);
+        int blocked = 0;
+        while (start.applyMove(blocked) != null) {
+            blocked++;
+        }
+        MoveList moves = new MoveList(start, new int[]{blocked});
+        assertThrows(IllegalStateException.class, moves::replay);
+        assertThrows(IllegalStateException.class, moves::toPath);
+        var iterator = moves.iterator();
+        assertSame(start, iterator.next());
+        assertThrows(IllegalStateException.class, iterator::next);
+    }
+}
@@ -0,0 +1,84 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PackedBFSTest class
+ * PackedBFS finds optimal solutions and explores the same states as BFS, whether it keeps
+ * the moves of a reversible puzzle or the predecessors of any other
+ */
+class PackedBFSTest {
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void findsTheOptimalSolution(int puzzle) throws IOException {
+        JamData.assertOptimal(puzzle, PackedBFS.search(JamData.load(puzzle)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void visitsTheSameStatesAsBFS(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        SolveStats packed = PackedBFS.search(start).getStats();
+        SolveStats objects = BFS.search(start, SolveOptions.UNLIMITED).getStats();
+        assertEquals(objects.getUnique(), packed.getUnique());
+        assertEquals(objects.getExpanded(), packed.getExpanded());
+    }
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void solvesPuzzlesWhoseMovesCanNotBeUndone(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        SolveResult result = PackedBFS.search(new OneWay(start));
+        JamData.assertOptimal(puzzle, result);
+        SolveStats reversible = PackedBFS.search(start).getStats();
+        assertEquals(reversible.getUnique(), result.getStats().getUnique());
+        assertEquals(reversible.getExpanded(), result.getStats().getExpanded());
+    }
+
+    /**
+     * OneWay class
+     * A jam config that does not say its moves can be undone, so PackedBFS keeps predecessors
+     */
+    private record OneWay(JamConfig config) implements PackedConfiguration {
+        @Override
+        public boolean isSolution() {
+            return config.isSolution();
+        }
+
+        @Override
+        public Configuration[] getNeighbors() {
+            return Arrays.stream(config.getNeighbors()).map(neighbor -> new OneWay((JamConfig) neighbor)).toArray(Configuration[]::new);
+        }
+
+        @Override
+        public boolean canPack() {
+            return config.canPack();
+        }
+
+        @Override
+        public long pack() {
+            return config.pack();
+        }
+
+        @Override
+        public Configuration unpack(long state) {
+            return new OneWay((JamConfig) config.unpack(state));
+        }
+
+        @Override
+        public boolean isSolution(long state) {
+            return config.isSolution(state);
+        }
+
+        @Override
+        public void forEachNeighbor(long state, PackedNeighborSink sink) {
+            config.forEachNeighbor(state, sink);
+        }
+    }
+}
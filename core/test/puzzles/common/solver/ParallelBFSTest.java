@@ -0,0 +1,17 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import java.io.IOException;
+
+/**
+ * ParallelBFSTest class
+ * ParallelBFS finds the same optimal solution lengths as a single threaded search
+ */
+class ParallelBFSTest {
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void findsTheOptimalSolution(int puzzle) throws IOException {
+        JamData.assertOptimal(puzzle, ParallelBFS.search(JamData.load(puzzle)));
+    }
+}
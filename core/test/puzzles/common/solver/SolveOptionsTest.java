@@ -0,0 +1,118 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import puzzles.jam.model.JamConfig;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SolveOptionsTest class
+ * Every solver stops at the expansion and visited limits, which are both inclusive, and at
+ * cancellation, timeouts and deadlines, returning BUDGET_EXHAUSTED
+ */
+class SolveOptionsTest {
+    private static final int LIMIT = 1000; // well below the states jam-10 needs
+
+    @ParameterizedTest
+    @EnumSource(value = SolverStrategy.class, names = "PARALLEL", mode = EnumSource.Mode.EXCLUDE)
+    void expandsExactlyTheLimit(SolverStrategy strategy) throws IOException {
+        SolveResult result = strategy.search(JamData.load(10), SolveOptions.UNLIMITED.withMaxExpanded(LIMIT));
+        assertTrue(result.isBudgetExhausted());
+        assertEquals(LIMIT, result.getStats().getExpanded());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SolverStrategy.class, names = {"BREADTH_FIRST", "PACKED", "A_STAR"})
+    void stopsOnceTheVisitedLimitIsReached(SolverStrategy strategy) throws IOException {
+        JamConfig start = JamData.load(10);
+        SolveResult result = strategy.search(start, SolveOptions.UNLIMITED.withMaxVisited(LIMIT));
+        assertTrue(result.isBudgetExhausted());
+        long visited = result.getStats().getUnique();
+        // only the neighbors of the expansion that reached the limit may go past it
+        assertTrue(visited >= LIMIT && visited < LIMIT + start.getNeighbors().length * 4L, visited + " visited");
+    }
+
+    // ExternalBFS counts the visited states of a layer when it is merged, and ParallelBFS
+    // checks both limits between layers, so they stop a layer past the limit at most
+    @ParameterizedTest
+    @EnumSource(value = SolverStrategy.class, names = {"PARALLEL", "EXTERNAL"})
+    void stopsAtTheLayerThatReachesTheVisitedLimit(SolverStrategy strategy) throws IOException {
+        JamConfig start = JamData.load(10);
+        SolveResult result = strategy.search(start, SolveOptions.UNLIMITED.withMaxVisited(LIMIT));
+        assertTrue(result.isBudgetExhausted());
+        assertTrue(result.getStats().getUnique() >= LIMIT);
+        assertTrue(result.getStats().getUnique() < PackedBFS.search(start).getStats().getUnique());
+    }
+
+    @Test
+    void parallelStopsAtTheLayerThatReachesTheExpansionLimit() throws IOException {
+        SolveResult result = ParallelBFS.search(JamData.load(10), SolveOptions.UNLIMITED.withMaxExpanded(LIMIT));
+        assertTrue(result.isBudgetExhausted());
+        assertTrue(result.getStats().getExpanded() >= LIMIT);
+    }
+
+    @Test
+    void visitedLimitOfOneStopsBeforeTheFirstExpansion() throws IOException {
+        SolveResult result = PackedBFS.search(JamData.load(10), SolveOptions.UNLIMITED.withMaxVisited(1));
+        assertTrue(result.isBudgetExhausted());
+        assertEquals(0, result.getStats().getExpanded());
+    }
+
+    @Test
+    void limitsThatAreNotReachedDoNotStopTheSolve() throws IOException {
+        SolveOptions options = SolveOptions.UNLIMITED.withMaxExpanded(1_000_000).withMaxVisited(1_000_000)
+                .withTimeout(Duration.ofMinutes(1));
+        JamData.assertOptimal(10, PackedBFS.search(JamData.load(10), options));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SolverStrategy.class)
+    void cancelledTokenStopsTheSolve(SolverStrategy strategy) throws IOException {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        SolveResult result = strategy.search(JamData.load(10), SolveOptions.UNLIMITED.withCancellation(token));
+        assertTrue(result.isBudgetExhausted());
+        assertFalse(result.isSolved());
+    }
+
+    @Test
+    void timeoutAndDeadlineStopTheSolve() throws IOException {
+        JamConfig start = JamData.load(10);
+        assertTrue(PackedBFS.search(start, SolveOptions.UNLIMITED.withTimeout(Duration.ZERO)).isBudgetExhausted());
+        assertTrue(PackedBFS.search(start, SolveOptions.UNLIMITED.withDeadline(Instant.now().minusSeconds(1))).isBudgetExhausted());
+    }
+
+    @Test
+    void progressIsReportedDuringTheSolve() throws IOException {
+        List<Long> expanded = new ArrayList<>();
+        SolveOptions options = SolveOptions.UNLIMITED.withProgress(stats -> expanded.add(stats.getExpanded()), Duration.ZERO);
+        JamData.assertOptimal(10, PackedBFS.search(JamData.load(10), options));
+        assertFalse(expanded.isEmpty());
+        for (int i = 1; i < expanded.size(); i++) {
+            assertTrue(expanded.get(i - 1) <= expanded.get(i));
+        }
+    }
+
+    // the listener stands in for another thread cancelling a running solve
+    @ParameterizedTest
+    @EnumSource(value = SolverStrategy.class, names = "PARALLEL", mode = EnumSource.Mode.EXCLUDE)
+    void cancellingARunningSolveStopsIt(SolverStrategy strategy) throws IOException {
+        CancellationToken token = new CancellationToken();
+        SolveOptions options = SolveOptions.UNLIMITED.withCancellation(token).withProgress(stats -> {
+            if (stats.getExpanded() >= LIMIT)
+                token.cancel();
+        }, Duration.ZERO);
+        SolveResult result = strategy.search(JamData.load(10), options);
+        assertTrue(result.isBudgetExhausted());
+        assertEquals(LIMIT, result.getStats().getExpanded());
+    }
+}
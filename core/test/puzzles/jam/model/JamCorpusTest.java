@@ -0,0 +1,87 @@
+package puzzles.jam.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzles.common.solver.JamData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamCorpusTest class
+ * A corpus written from the puzzles in data/jam reads back the same puzzles
+ */
+class JamCorpusTest {
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void roundTripKeepsNamesAndBoards() throws IOException {
+        List<JamConfig> written = new ArrayList<>();
+        Path file = tempDirectory.resolve("jam.jamc");
+        try (JamCorpus.Writer corpus = new JamCorpus.Writer(file)) {
+            for (int i = 0; i <= 11; i++) {
+                JamConfig config = JamParser.parse(Path.of(JamData.DIRECTORY + "jam-" + i + ".txt"));
+                corpus.add("jam-" + i, config);
+                written.add(config);
+            }
+        }
+        assertTrue(JamCorpus.isCorpus(file));
+        JamCorpus corpus = JamCorpus.open(file);
+        assertEquals(written.size(), corpus.size());
+        for (int i = 0; i < written.size(); i++) {
+            JamConfig expected = written.get(i);
+            JamConfig read = corpus.get(i);
+            assertEquals("jam-" + i, corpus.getName(i));
+            assertEquals(i, corpus.indexOf("jam-" + i));
+            assertEquals(expected.getPuzzle().getDimensionX(), read.getPuzzle().getDimensionX());
+            assertEquals(expected.getPuzzle().getDimensionY(), read.getPuzzle().getDimensionY());
+            assertEquals(expected.getPuzzle().getNumCars(), read.getPuzzle().getNumCars());
+            assertArrayEquals(expected.occupants(), read.occupants());
+            assertEquals(expected.toString(), read.toString());
+        }
+        assertEquals(-1, corpus.indexOf("jam-12"));
+    }
+
+    @Test
+    void textFileIsNotACorpus() throws IOException {
+        Path text = Path.of(JamData.DIRECTORY + "jam-0.txt");
+        assertFalse(JamCorpus.isCorpus(text));
+        assertThrows(IOException.class, () -> JamCorpus.open(text));
+    }
+
+    @Test
+    void emptyCorpusReadsBack() throws IOException {
+        Path file = tempDirectory.resolve("empty.jamc");
+        new JamCorpus.Writer(file).close();
+        assertTrue(Files.size(file) > 0);
+        assertEquals(0, JamCorpus.open(file).size());
+    }
+
+    @Test
+    void puzzleThatDoesNotFitLeavesTheCorpusIntact() throws IOException {
+        Path file = tempDirectory.resolve("partial.jamc");
+        String longName = "A".repeat(300);
+        JamConfig tooLong = new JamParser(ByteBuffer.wrap(("3 3 2\nX 0 0 0 1\n" + longName + " 2 0 2 1")
+                .getBytes(StandardCharsets.US_ASCII))).next();
+        try (JamCorpus.Writer corpus = new JamCorpus.Writer(file)) {
+            corpus.add("jam-1", JamData.load(1));
+            assertThrows(IllegalArgumentException.class, () -> corpus.add("long", tooLong));
+            corpus.add("jam-2", JamData.load(2));
+        }
+        JamCorpus corpus = JamCorpus.open(file);
+        assertEquals(2, corpus.size());
+        assertEquals("jam-2", corpus.getName(1));
+        assertArrayEquals(JamData.load(2).occupants(), corpus.get(1).occupants());
+    }
+}
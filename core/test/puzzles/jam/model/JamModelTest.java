@@ -0,0 +1,100 @@
+package puzzles.jam.model;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.JamData;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamModelTest class
+ * Hints are searched off the thread that asks for them, and a hint that is still being
+ * searched when the game changes is dropped
+ */
+class JamModelTest {
+    private static final String PUZZLE = JamData.DIRECTORY + "jam-5.txt";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+    /** A solver that waits for the test to release it before searching */
+    private final Solver waiting = (start, options) -> {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return SolverStrategy.PACKED.search(start, options);
+    };
+
+    @Test
+    void hintIsSearchedOffTheCallingThread() throws IOException, InterruptedException {
+        JamModel model = model();
+        String start = model.toString();
+        model.processMove("h");
+        // processMove returned while the search is still waiting
+        assertEquals("Generating next move (Please Wait)", messages.take());
+        model.processMove("h");
+        assertEquals("Still Generating Next Move", messages.take());
+        release.countDown();
+        assertEquals("Next Move Found", next());
+        assertNotEquals(start, model.toString());
+    }
+
+    @Test
+    void resetDropsThePendingHint() throws IOException, InterruptedException {
+        JamModel model = model();
+        String start = model.toString();
+        model.processMove("h");
+        model.processMove("r");
+        // the cancelled hint is no longer pending, so a new one is started
+        model.processMove("h");
+        release.countDown();
+        List<String> seen = new ArrayList<>();
+        String message;
+        do {
+            message = next();
+            seen.add(message);
+        } while (!message.equals("Next Move Found"));
+        // the hints run in order on one thread, so the cancelled result was dropped before this one
+        assertEquals(List.of("Generating next move (Please Wait)", "Game Reset!", "Generating next move (Please Wait)",
+                "Next Move Found"), seen);
+        assertTrue(messages.isEmpty());
+        assertNotEquals(start, model.toString());
+    }
+
+    /** Create a model of the puzzle whose hints wait for release and whose messages are collected
+     * @return the model
+     * @throws IOException if the puzzle can not be read
+     */
+    private JamModel model() throws IOException {
+        JamModel model = new JamModel(PUZZLE, waiting, Runnable::run);
+        model.addObserver((subject, data) -> {
+            // progress reports depend on timing, so they are left out
+            if (!data.toString().startsWith("Searching depth"))
+                messages.add(data.toString());
+        });
+        return model;
+    }
+
+    /** Wait for the next message of the model
+     * @return the message
+     * @throws InterruptedException if the test is interrupted
+     */
+    private String next() throws InterruptedException {
+        String message = messages.poll(30, TimeUnit.SECONDS);
+        assertNotNull(message, "no message from the model");
+        return message;
+    }
+}
@@ -0,0 +1,76 @@
+package puzzles.jam.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import puzzles.common.solver.JamData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamParserTest class
+ * JamParser reads the data files and bundles, and rejects puzzles that can not be played
+ * with the problem and the byte offset of the puzzle or car at fault
+ */
+class JamParserTest {
+    @Test
+    void readsTheDataFilesLikeJamConfig() throws IOException {
+        for (int puzzle = 0; puzzle <= 11; puzzle++) {
+            Path file = Path.of(JamData.DIRECTORY + "jam-" + puzzle + ".txt");
+            assertArrayEquals(JamData.load(puzzle).occupants(), JamParser.parse(file).occupants(), file.toString());
+        }
+    }
+
+    @Test
+    void readsEveryPuzzleOfABundle() {
+        JamParser parser = parser("3 3\n1\nX 1 0 1 1\n\n2 4 2\nX 0 0 0 1\nA 0 3 1 3\n");
+        assertTrue(parser.hasNext());
+        assertEquals(3, parser.next().getPuzzle().getDimensionY());
+        assertTrue(parser.hasNext());
+        JamConfig second = parser.next();
+        assertEquals(4, second.getPuzzle().getDimensionY());
+        assertEquals(2, second.getPuzzle().getNumCars());
+        assertFalse(parser.hasNext());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "0 3 1 X 0 0 0 1|Board of 0 by 3 at byte 0",
+            "2 2 5 X 0 0 0 1|5 cars on a board of 2 by 2 at byte 0",
+            "3 3 1 A 0 0 0 1|No car X at byte 0",
+            "3 3 1 X 0 2 0 3|Car X is off the board at byte 6",
+            "3 3 1 X 0 0 0 0|Car X has no length at byte 6",
+            "3 3 1 X 0 0 1 1|Car X is not in a single row or column at byte 6",
+            "4 4 1 X 0 0 0 3|Car X is longer than 3 at byte 6",
+            "3 3 2 X 0 0 0 1 X 2 0 2 1|Car X is defined twice at byte 16",
+            "3 3 2 X 0 0 0 1 A 0 1 1 1|Car A overlaps another car at 0 1 at byte 16",
+    })
+    void rejectsPuzzlesThatCanNotBePlayed(String puzzle, String problem) {
+        InputMismatchException e = assertThrows(InputMismatchException.class, () -> parser(puzzle).next());
+        assertEquals(problem, e.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(InputMismatchException.class, () -> parser("3 three 1\nX 0 0 0 1").next());
+        assertThrows(NoSuchElementException.class, () -> parser("3 3 1\nX 0 0").next());
+    }
+
+    /** Create a parser of some text
+     * @param text the puzzles to parse
+     * @return the parser
+     */
+    private static JamParser parser(String text) {
+        return new JamParser(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,80 @@
+package puzzles.jam.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import puzzles.common.solver.AStar;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Heuristic;
+import puzzles.common.solver.JamData;
+import puzzles.common.solver.PackedBFS;
+import puzzles.common.solver.SolveResult;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamPatternDatabaseTest class
+ * A pattern database never overestimates, keeps A* optimal and reads back the same table
+ * it saved
+ */
+class JamPatternDatabaseTest {
+    private static final int MAX_ENTRIES = 1 << 16; // small enough to build for every puzzle quickly
+
+    @TempDir
+    Path tempDirectory;
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void keepsAStarOptimal(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        JamPatternDatabase database = build(start);
+        JamData.assertOptimal(puzzle, new AStar(Heuristic.max(Configuration::estimateDistance, database)).search(start));
+    }
+
+    @ParameterizedTest
+    @MethodSource("puzzles.common.solver.JamData#puzzles")
+    void neverOverestimatesAlongASolution(int puzzle) throws IOException {
+        JamConfig start = JamData.load(puzzle);
+        JamPatternDatabase database = build(start);
+        SolveResult result = PackedBFS.search(start);
+        if (!result.isSolved()) {
+            return;
+        }
+        List<Configuration> path = result.getPath();
+        for (int i = 1; i < path.size(); i++) {
+            int remaining = path.size() - 1 - i;
+            assertTrue(database.estimate(path.get(i)) <= remaining, "step " + i + " of jam-" + puzzle);
+        }
+    }
+
+    @Test
+    void savedTableReadsBack() throws IOException {
+        JamConfig start = JamData.load(10);
+        JamPatternDatabase database = build(start);
+        Path file = tempDirectory.resolve("jam-10.pdb");
+        database.save(file);
+        JamPatternDatabase opened = JamPatternDatabase.open(file, start.getPuzzle());
+        assertNotNull(opened);
+        assertArrayEquals(database.getCars(), opened.getCars());
+        for (Configuration step : PackedBFS.search(start).getPath()) {
+            assertEquals(database.estimate(step), opened.estimate(step));
+        }
+        assertNull(JamPatternDatabase.open(file, JamData.load(9).getPuzzle()));
+    }
+
+    /** Build the default pattern database of a puzzle
+     * @param start the start config of the puzzle
+     * @return the pattern database
+     */
+    private static JamPatternDatabase build(JamConfig start) {
+        return JamPatternDatabase.build(start.getPuzzle(), JamPatternDatabase.defaultPattern(start, MAX_ENTRIES));
+    }
+}
@@ -0,0 +1,107 @@
+package puzzles.jam.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolverStrategy;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JamBatchTest class
+ * Every puzzle of a batch gets exactly one JSON line, solved or with an error field
+ */
+class JamBatchTest {
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void printsOneLinePerPuzzle() throws IOException, InterruptedException {
+        Path solvable = Path.of("../data/jam/jam-1.txt");
+        Path unsolvable = Path.of("../data/jam/jam-11.txt");
+        Path malformed = tempDirectory.resolve("malformed.txt");
+        Files.writeString(malformed, "3 3\n1\nA 0 0 0 1\n");
+        List<String> lines = run(List.of(solvable, unsolvable, malformed));
+        assertEquals(3, lines.size());
+        assertEquals("{\"file\":\"" + json(solvable) + "\",\"puzzle\":0,\"solved\":true,\"moves\":3,",
+                prefix(line(lines, solvable), "\"states\""));
+        assertTrue(line(lines, solvable).matches(".*\"solution\":\\[\"[A-Z]+[fb]\"(,\"[A-Z]+[fb]\"){2}\\]}"));
+        assertTrue(line(lines, unsolvable).contains("\"solved\":false,\"moves\":null,"));
+        assertTrue(line(lines, unsolvable).endsWith(",\"solution\":null}"));
+        assertEquals("{\"file\":\"" + json(malformed) + "\",\"puzzle\":0,\"error\":\"Invalid puzzle: ",
+                prefix(line(lines, malformed), "java.util.InputMismatchException"));
+    }
+
+    @Test
+    void printsAnErrorLineWhenASolveThrows() throws InterruptedException {
+        Path solvable = Path.of("../data/jam/jam-1.txt");
+        Solver failing = (start, options) -> {
+            throw new IllegalStateException("broken solver");
+        };
+        List<String> lines = run(failing, List.of(solvable, solvable));
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            assertEquals("{\"file\":\"" + json(solvable) + "\",\"puzzle\":0,\"error\":\"Solve failed: "
+                    + "java.lang.IllegalStateException: broken solver\"}", line);
+        }
+    }
+
+    /** Solve files with a batch of two workers
+     * @param files the puzzle files
+     * @return the printed lines
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    private static List<String> run(List<Path> files) throws InterruptedException {
+        return run(SolverStrategy.PACKED, files);
+    }
+
+    /** Solve files with a batch of two workers
+     * @param solver the solver used for every puzzle
+     * @param files the puzzle files
+     * @return the printed lines
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    private static List<String> run(Solver solver, List<Path> files) throws InterruptedException {
+        StringWriter text = new StringWriter();
+        new JamBatch(solver, 2, new PrintWriter(text)).solveAll(files);
+        return Arrays.asList(text.toString().split("\\R"));
+    }
+
+    /** Find the line printed for a file
+     * @param lines the printed lines
+     * @param file the file
+     * @return the only line of the file
+     */
+    private static String line(List<String> lines, Path file) {
+        List<String> matching = lines.stream().filter(line -> line.startsWith("{\"file\":\"" + json(file) + "\"")).toList();
+        assertEquals(1, matching.size(), "lines for " + file);
+        return matching.get(0);
+    }
+
+    /** Cut a line before a field
+     * @param line the line
+     * @param field the text the kept part ends before
+     * @return the line up to the field
+     */
+    private static String prefix(String line, String field) {
+        int end = line.indexOf(field);
+        assertTrue(end >= 0, field + " missing from " + line);
+        return line.substring(0, end);
+    }
+
+    /** Escape a path the way the batch quotes it
+     * @param file the path
+     * @return the path with backslashes escaped
+     */
+    private static String json(Path file) {
+        return file.toString().replace("\\", "\\\\");
+    }
+}
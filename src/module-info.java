@@ -1,6 +1,5 @@
 module BFSPuzzleSolver {
     requires transitive javafx.controls;
-    exports puzzles.common;
+    requires transitive BFSPuzzleSolverCore;
     exports puzzles.jam.gui;
-    exports puzzles.jam.model;
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import java.util.HashMap;
 
 /**
  * Custom Button class for Jam GUI slot buttons.
+ * A button stays in the grid for as long as its puzzle is loaded, and is restyled
+ * when the car covering its cell changes.
  * @author Daniel Tregea
  */
 public class GridButton extends Button {
@@ -11,9 +13,11 @@ public class GridButton extends Button {
     private final static int BUTTON_FONT_SIZE = 20;
     private final static int ICON_SIZE = 75;
     private static final HashMap<String, String> colors = new HashMap<>();
+    /** the inline style of each type of slot, built once per type */
+    private static final HashMap<String, String> styles = new HashMap<>();
     private static boolean colorsLoaded = false;
     private final int row, column;
-    private final String carName;
+    private String carName;
 
     /** Construct a GridButton
      * @param type The type of slot
@@ -27,21 +31,26 @@ public class GridButton extends Button {
         }
         this.row = row;
         this.column = column;
-        if(type.equals("empty")){
-            carName = "empty";
-            setText(".");
-        } else{
-            carName = type;
-            setText(type);
-        }
-        setStyle(
-                "-fx-font-size: " + BUTTON_FONT_SIZE + ";" +
-                        "-fx-background-color: " + colors.get(type) + ";" +
-                        "-fx-font-weight: bold;");
+        setCarName(type);
         setMinSize(ICON_SIZE, ICON_SIZE);
         setMaxSize(ICON_SIZE, ICON_SIZE);
     }
 
+    /** Show the car covering the slot, restyling the button only if the car changed
+     * @param type The type of slot
+     */
+    public void setCarName(String type) {
+        if(type.equals(carName)){
+            return;
+        }
+        carName = type;
+        setText(type.equals("empty") ? "." : type);
+        setStyle(styles.computeIfAbsent(type, name ->
+                "-fx-font-size: " + BUTTON_FONT_SIZE + ";" +
+                        "-fx-background-color: " + colors.get(name) + ";" +
+                        "-fx-font-weight: bold;"));
+    }
+
     /** Get the row of the GridButton in the Gridpane
      * @return The row of the GridButton
      */
@@ -1,6 +1,7 @@
 package puzzles.jam.gui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -12,6 +13,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import puzzles.common.Observer;
+import puzzles.common.solver.SolverStrategy;
 import puzzles.jam.model.Car;
 import puzzles.jam.model.JamClientData;
 import puzzles.jam.model.JamModel;
@@ -30,6 +32,7 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
     HBox bottomContainer;
     Label clientDataLabel;
     GridPane carGrid;
+    GridButton[][] gridButtons;
     Car carSelected;
     JamModel model;
     VBox root;
@@ -40,12 +43,18 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
             files.add("jam-" + i + ".txt");
         }
         String filename = getParameters().getRaw().get(0);
-        model = new JamModel(filename);
+        // an optional second parameter chooses the solver used for hints
+        SolverStrategy strategy = null;
+        if (getParameters().getRaw().size() > 1)
+            strategy = SolverStrategy.fromName(getParameters().getRaw().get(1));
+        // hints are searched off the JavaFX thread and reported back on it
+        model = new JamModel(filename, strategy == null ? SolverStrategy.PACKED : strategy, Platform::runLater);
+        // added once, since start runs again for every loaded file
+        model.addObserver(this);
     }
 
     @Override
     public void start(Stage stage) throws Exception {
-        model.addObserver(this);
         loadFileArea = new TextArea("Filename");
         loadButton = new Button("Load");
         resetButton = new Button("Reset");
@@ -53,6 +62,7 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
         bottomContainer = new HBox(resetButton, hintButton, loadButton, loadFileArea);
         clientDataLabel = new Label("");
         carGrid = new GridPane();
+        buildGrid();
         root = new VBox(clientDataLabel, carGrid, bottomContainer);
         root.setAlignment(Pos.CENTER);
         clientDataLabel.setFont(Font.font("Comic Sans MS", 24));
@@ -95,30 +105,45 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
 
     @Override
     public void update(JamModel jamModel, JamClientData jamClientData) {
-        Car[] cars = jamModel.getCars();
         clientDataLabel.setText(jamClientData.toString());
-        GridButton button;
-        // Add and update buttons
-        for(int i = 0; i< jamModel.getDIMX(); i++){
-            for(int j = 0; j< jamModel.getDIMY(); j++){
-                button = new GridButton(JamGUI.getOccupied(cars, i, j), i, j);
-                GridButton finalButton = button;
+        // A loaded file is shown once start builds the grid of its stage
+        if(gridButtons.length != jamModel.getDIMX() || gridButtons[0].length != jamModel.getDIMY())
+            return;
+        // Restyle only the buttons whose car changed
+        String[] occupants = jamModel.getOccupants();
+        for(int i = 0; i < gridButtons.length; i++){
+            for(int j = 0; j < gridButtons[i].length; j++){
+                String name = occupants[i * gridButtons[i].length + j];
+                gridButtons[i][j].setCarName(name == null ? "empty" : name);
+            }
+        }
+    }
+
+    /**
+     * Create a button for every cell of the loaded puzzle, which update restyles from then on
+     */
+    private void buildGrid(){
+        gridButtons = new GridButton[model.getDIMX()][model.getDIMY()];
+        for(int i = 0; i < model.getDIMX(); i++){
+            for(int j = 0; j < model.getDIMY(); j++){
+                GridButton button = new GridButton(JamGUI.getOccupied(model, i, j), i, j);
                 button.setOnMouseClicked(mouseEvent -> {
                     // Select a car if one has not aleady
                     if(!carSelect){
-                        String buttonName = finalButton.getCarName();
+                        String buttonName = button.getCarName();
                         if(!buttonName.equals("empty")){
-                            carSelected = jamModel.getCar(finalButton.getCarName());
+                            carSelected = model.getCar(button.getCarName());
                             clientDataLabel.setText(carSelected.getCarName() + " selected");
                             carSelect = true;
                         }
                     // If car has been selected, process the move
                     } else{
-                        int rowSelect = finalButton.getRow(), columnSelect = finalButton.getColumn();
+                        int rowSelect = button.getRow(), columnSelect = button.getColumn();
                         model.processMove("s " + carSelected.getCarName() + " " + rowSelect + " " + columnSelect);
                         carSelect = false;
                     }
                 });
+                gridButtons[i][j] = button;
                 carGrid.add(button, j, i);
             }
         }
@@ -129,20 +154,13 @@ public class JamGUI extends Application  implements Observer<JamModel, JamClient
     }
 
     /** Get the Car occupying a coordinate
-     * @param cars the array of cars in the config
+     * @param model the model holding the config
      * @param x the x coordinate to be checked
      * @param y the y coordinate to be checked
      * @return The car occupying the space
      */
-    public static String getOccupied(Car[] cars, int x, int y){
-        for(Car car: cars){
-            int[] coords = car.getCoordinates();
-            for(int i = 0; i < coords.length; i+=2){
-                if(coords[i] == x && coords[i+1] == y) {
-                    return car.getCarName();
-                }
-            }
-        }
-        return "empty";
+    public static String getOccupied(JamModel model, int x, int y){
+        String name = model.getOccupant(x, y);
+        return name == null ? "empty" : name;
     }
 }